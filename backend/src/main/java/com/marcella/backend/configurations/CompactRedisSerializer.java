@@ -0,0 +1,128 @@
+package com.marcella.backend.configurations;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    public enum Format {
+        JSON, SMILE, CBOR
+    }
+
+    private static final byte MAGIC = (byte) 0xFE;
+    private static final byte FLAG_LZ4 = 0x01;
+    private static final int HEADER_LENGTH = 3;
+    private static final int LENGTH_PREFIX = 4;
+
+    private static final LZ4Factory LZ4 = LZ4Factory.fastestInstance();
+
+    private final Format format;
+    private final int compressionThreshold;
+    private final ObjectMapper[] mappers = new ObjectMapper[Format.values().length];
+    private final LZ4Compressor compressor = LZ4.fastCompressor();
+    private final LZ4FastDecompressor decompressor = LZ4.fastDecompressor();
+
+    public CompactRedisSerializer(Format format, boolean compress, int compressionThreshold) {
+        this.format = format;
+        this.compressionThreshold = compress ? compressionThreshold : Integer.MAX_VALUE;
+
+        mappers[Format.JSON.ordinal()] = objectMapper(new JsonFactory());
+        mappers[Format.SMILE.ordinal()] = objectMapper(SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build());
+        mappers[Format.CBOR.ordinal()] = objectMapper(new CBORFactory());
+    }
+
+    public static ObjectMapper objectMapper(JsonFactory factory) {
+        ObjectMapper objectMapper = new ObjectMapper(factory);
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        objectMapper.activateDefaultTyping(
+                objectMapper.getPolymorphicTypeValidator(),
+                ObjectMapper.DefaultTyping.NON_FINAL
+        );
+        return objectMapper;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+
+        byte[] payload;
+        try {
+            payload = mappers[format.ordinal()].writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializationException("Could not write " + format + " value: " + e.getMessage(), e);
+        }
+
+        boolean compressed = payload.length >= compressionThreshold;
+        if (format == Format.JSON && !compressed) {
+            return payload;
+        }
+
+        if (compressed) {
+            byte[] framed = new byte[HEADER_LENGTH + LENGTH_PREFIX + compressor.maxCompressedLength(payload.length)];
+            writeHeader(framed, FLAG_LZ4);
+            ByteBuffer.wrap(framed, HEADER_LENGTH, LENGTH_PREFIX).putInt(payload.length);
+            int length = compressor.compress(payload, 0, payload.length, framed, HEADER_LENGTH + LENGTH_PREFIX);
+            return Arrays.copyOf(framed, HEADER_LENGTH + LENGTH_PREFIX + length);
+        }
+
+        byte[] framed = new byte[HEADER_LENGTH + payload.length];
+        writeHeader(framed, (byte) 0);
+        System.arraycopy(payload, 0, framed, HEADER_LENGTH, payload.length);
+        return framed;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        try {
+            if (bytes[0] != MAGIC) {
+                return mappers[Format.JSON.ordinal()].readValue(bytes, Object.class);
+            }
+
+            if (bytes.length < HEADER_LENGTH || bytes[1] < 0 || bytes[1] >= mappers.length) {
+                throw new SerializationException("Unknown Redis value encoding");
+            }
+            ObjectMapper mapper = mappers[bytes[1]];
+
+            if ((bytes[2] & FLAG_LZ4) == 0) {
+                return mapper.readValue(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH, Object.class);
+            }
+
+            int length = ByteBuffer.wrap(bytes, HEADER_LENGTH, LENGTH_PREFIX).getInt();
+            byte[] payload = new byte[length];
+            decompressor.decompress(bytes, HEADER_LENGTH + LENGTH_PREFIX, payload, 0, length);
+            return mapper.readValue(payload, Object.class);
+        } catch (IOException e) {
+            throw new SerializationException("Could not read Redis value: " + e.getMessage(), e);
+        }
+    }
+
+    private void writeHeader(byte[] target, byte flags) {
+        target[0] = MAGIC;
+        target[1] = (byte) format.ordinal();
+        target[2] = flags;
+    }
+}
@@ -0,0 +1,114 @@
+package com.marcella.backend.configurations;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+@Configuration
+@Slf4j
+public class HttpClientConfig {
+
+    @Value("${workflow.http.client.max-connections:200}")
+    private int maxConnections;
+
+    @Value("${workflow.http.client.max-connections-per-host:50}")
+    private int maxConnectionsPerHost;
+
+    @Value("${workflow.http.client.connect-timeout-ms:5000}")
+    private long connectTimeoutMs;
+
+    @Value("${workflow.http.client.read-timeout-ms:30000}")
+    private long readTimeoutMs;
+
+    @Value("${workflow.http.client.connection-request-timeout-ms:5000}")
+    private long connectionRequestTimeoutMs;
+
+    @Value("${workflow.http.client.idle-timeout-ms:60000}")
+    private long idleTimeoutMs;
+
+    @Value("${workflow.http.client.http2.enabled:false}")
+    private boolean http2Enabled;
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager nodeHttpConnectionManager(MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerHost)
+                .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.STRICT)
+                .setConnPoolPolicy(PoolReusePolicy.LIFO)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .build())
+                .setDefaultSocketConfig(SocketConfig.custom()
+                        .setTcpNoDelay(true)
+                        .setSoKeepAlive(true)
+                        .build())
+                .build();
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "node-http").bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient nodeHttpClient(PoolingHttpClientConnectionManager nodeHttpConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(nodeHttpConnectionManager)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleTimeoutMs))
+                .disableCookieManagement()
+                .build();
+    }
+
+    @Bean
+    public RestTemplate nodeRestTemplate(RestTemplateBuilder restTemplateBuilder, CloseableHttpClient nodeHttpClient) {
+        log.info("Node HTTP client: {} engine, {} connections ({} per host), connect timeout {}ms, read timeout {}ms",
+                http2Enabled ? "JDK HTTP/2" : "pooled HTTP/1.1", maxConnections, maxConnectionsPerHost,
+                connectTimeoutMs, readTimeoutMs);
+
+        return restTemplateBuilder
+                .requestFactory(() -> requestFactory(nodeHttpClient))
+                .build();
+    }
+
+    private ClientHttpRequestFactory requestFactory(CloseableHttpClient nodeHttpClient) {
+        if (http2Enabled) {
+            HttpClient jdkClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                    .followRedirects(HttpClient.Redirect.NORMAL)
+                    .build();
+            JdkClientHttpRequestFactory jdkFactory = new JdkClientHttpRequestFactory(jdkClient);
+            jdkFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+            return jdkFactory;
+        }
+
+        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(nodeHttpClient);
+        factory.setConnectionRequestTimeout(Duration.ofMillis(connectionRequestTimeoutMs));
+        factory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        return factory;
+    }
+}
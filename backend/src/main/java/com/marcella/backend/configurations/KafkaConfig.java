@@ -7,14 +7,14 @@ import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.*;
 import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
-import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Configuration
@@ -23,23 +23,76 @@ public class KafkaConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
-    @Bean
-    public ProducerFactory<String, Object> producerFactory() {
-        Map<String, Object> props = new HashMap<>();
-        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+    @Value("${workflow.coordinator.concurrency:3}")
+    private int coordinatorConcurrency;
+
+    @Value("${workflow.coordinator.batch.max-poll-records:500}")
+    private int coordinatorMaxPollRecords;
+
+    @Value("${workflow.kafka.producer.compression-type:none}")
+    private String producerCompressionType;
+
+    @Value("${workflow.kafka.producer.batch-size:16384}")
+    private int producerBatchSize;
+
+    @Value("${workflow.kafka.producer.linger-ms:0}")
+    private int producerLingerMs;
+
+    @Value("${workflow.kafka.node-producer.compression-type:lz4}")
+    private String nodeProducerCompressionType;
+
+    @Value("${workflow.kafka.node-producer.batch-size:65536}")
+    private int nodeProducerBatchSize;
 
-        props.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
+    @Value("${workflow.kafka.node-producer.linger-ms:1}")
+    private int nodeProducerLingerMs;
 
-        return new DefaultKafkaProducerFactory<>(props);
+    @Value("${workflow.worker.async.enabled:false}")
+    private boolean asyncWorkerEnabled;
+
+    @Value("${workflow.kafka.binary-encoding.enabled:false}")
+    private boolean binaryEncodingEnabled;
+
+    private static final List<String> SPRING_OWNED_TOPICS = List.of("spring-nodes", "spring-nodes-high", "node-completion");
+
+    @Bean
+    public ProducerFactory<String, Object> producerFactory() {
+        return new DefaultKafkaProducerFactory<>(producerProps(producerCompressionType, producerBatchSize,
+                producerLingerMs, List.of()));
     }
 
     @Bean
+    @Primary
     public KafkaTemplate<String, Object> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
 
+    @Bean
+    public ProducerFactory<String, Object> nodeMessageProducerFactory() {
+        return new DefaultKafkaProducerFactory<>(producerProps(nodeProducerCompressionType, nodeProducerBatchSize,
+                nodeProducerLingerMs, binaryEncodingEnabled ? SPRING_OWNED_TOPICS : List.of()));
+    }
+
+    @Bean("nodeMessageKafkaTemplate")
+    public KafkaTemplate<String, Object> nodeMessageKafkaTemplate() {
+        return new KafkaTemplate<>(nodeMessageProducerFactory());
+    }
+
+    private Map<String, Object> producerProps(String compressionType, int batchSize, int lingerMs,
+                                              List<String> binaryTopics) {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, WorkflowMessageSerializer.class);
+
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        props.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+
+        props.put(WorkflowMessageSerializer.BINARY_TOPICS, binaryTopics);
+        return props;
+    }
+
     @Bean
     public ConsumerFactory<String, Object> nodeExecutionConsumerFactory() {
         Map<String, Object> props = new HashMap<>();
@@ -51,11 +104,9 @@ public class KafkaConfig {
         props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
 
         props.put(ErrorHandlingDeserializer.KEY_DESERIALIZER_CLASS, StringDeserializer.class);
-        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
+        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, WorkflowMessageDeserializer.class);
 
-        props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
-        props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
-        props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, "com.marcella.backend.workflow.NodeExecutionMessage");
+        props.put(WorkflowMessageDeserializer.VALUE_TYPE, "com.marcella.backend.workflow.NodeExecutionMessage");
 
         return new DefaultKafkaConsumerFactory<>(props);
     }
@@ -65,7 +116,12 @@ public class KafkaConfig {
         ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(nodeExecutionConsumerFactory());
 
-        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+        if (asyncWorkerEnabled) {
+            factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+            factory.getContainerProperties().setAsyncAcks(true);
+        } else {
+            factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+        }
 
         factory.setConcurrency(3);
 
@@ -83,11 +139,9 @@ public class KafkaConfig {
         props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
 
         props.put(ErrorHandlingDeserializer.KEY_DESERIALIZER_CLASS, StringDeserializer.class);
-        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
+        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, WorkflowMessageDeserializer.class);
 
-        props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
-        props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
-        props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, "com.marcella.backend.workflow.NodeCompletionMessage");
+        props.put(WorkflowMessageDeserializer.VALUE_TYPE, "com.marcella.backend.workflow.NodeCompletionMessage");
 
         return new DefaultKafkaConsumerFactory<>(props);
     }
@@ -99,7 +153,28 @@ public class KafkaConfig {
 
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
 
-        factory.setConcurrency(1);
+        factory.setConcurrency(coordinatorConcurrency);
+
+        return factory;
+    }
+
+    @Bean
+    public ConsumerFactory<String, Object> nodeCompletionBatchConsumerFactory() {
+        Map<String, Object> props = new HashMap<>(nodeCompletionConsumerFactory().getConfigurationProperties());
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, coordinatorMaxPollRecords);
+
+        return new DefaultKafkaConsumerFactory<>(props);
+    }
+
+    @Bean("nodeCompletionBatchListenerFactory")
+    public ConcurrentKafkaListenerContainerFactory<String, Object> nodeCompletionBatchListenerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(nodeCompletionBatchConsumerFactory());
+        factory.setBatchListener(true);
+
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+
+        factory.setConcurrency(coordinatorConcurrency);
 
         return factory;
     }
@@ -115,10 +190,7 @@ public class KafkaConfig {
         props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
 
         props.put(ErrorHandlingDeserializer.KEY_DESERIALIZER_CLASS, StringDeserializer.class);
-        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
-
-        props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
-        props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, WorkflowMessageDeserializer.class);
 
         return new DefaultKafkaConsumerFactory<>(props);
     }
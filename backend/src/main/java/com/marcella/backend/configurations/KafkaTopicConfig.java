@@ -1,6 +1,7 @@
 package com.marcella.backend.configurations;
 
 import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.TopicBuilder;
@@ -8,6 +9,9 @@ import org.springframework.kafka.config.TopicBuilder;
 @Configuration
 public class KafkaTopicConfig {
 
+    @Value("${workflow.kafka.node-completion-partitions:3}")
+    private int nodeCompletionPartitions;
+
     @Bean
     public NewTopic springNodesTopic() {
         return TopicBuilder.name("spring-nodes")
@@ -16,6 +20,14 @@ public class KafkaTopicConfig {
                 .build();
     }
 
+    @Bean
+    public NewTopic springNodesHighPriorityTopic() {
+        return TopicBuilder.name("spring-nodes-high")
+                .partitions(3)
+                .replicas(1)
+                .build();
+    }
+
     @Bean
     public NewTopic fastApiNodesTopic() {
         return TopicBuilder.name("fastapi-nodes")
@@ -27,7 +39,7 @@ public class KafkaTopicConfig {
     @Bean
     public NewTopic nodeCompletionTopic() {
         return TopicBuilder.name("node-completion")
-                .partitions(3)
+                .partitions(nodeCompletionPartitions)
                 .replicas(1)
                 .build();
     }
@@ -0,0 +1,47 @@
+package com.marcella.backend.configurations;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.util.Map;
+
+public class WorkflowMessageDeserializer implements Deserializer<Object> {
+
+    public static final String VALUE_TYPE = "workflow.deserializer.value.type";
+
+    private Class<?> valueType = Object.class;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        Object type = configs.get(VALUE_TYPE);
+        if (type instanceof Class<?> clazz) {
+            valueType = clazz;
+        } else if (type instanceof String className) {
+            valueType = ClassUtils.resolveClassName(className, ClassUtils.getDefaultClassLoader());
+        }
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+
+        try {
+            if (data[0] != WorkflowMessageSerializer.MAGIC) {
+                return WorkflowMessageSerializer.JSON_MAPPER.readValue(data, valueType);
+            }
+
+            if (data.length < WorkflowMessageSerializer.HEADER_LENGTH
+                    || data[1] != WorkflowMessageSerializer.CBOR_V1) {
+                throw new SerializationException("Unsupported workflow message encoding on topic " + topic);
+            }
+            return WorkflowMessageSerializer.CBOR_MAPPER.readValue(data, WorkflowMessageSerializer.HEADER_LENGTH,
+                    data.length - WorkflowMessageSerializer.HEADER_LENGTH, valueType);
+        } catch (IOException e) {
+            throw new SerializationException("Can't deserialize data from topic " + topic, e);
+        }
+    }
+}
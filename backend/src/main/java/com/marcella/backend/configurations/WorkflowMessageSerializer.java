@@ -0,0 +1,72 @@
+package com.marcella.backend.configurations;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.JacksonMimeTypeModule;
+import org.springframework.kafka.support.JacksonUtils;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class WorkflowMessageSerializer implements Serializer<Object> {
+
+    public static final String BINARY_TOPICS = "workflow.serializer.binary.topics";
+
+    static final byte MAGIC = (byte) 0xFE;
+    static final byte CBOR_V1 = 1;
+    static final int HEADER_LENGTH = 2;
+
+    static final ObjectMapper JSON_MAPPER = JacksonUtils.enhancedObjectMapper();
+    static final ObjectMapper CBOR_MAPPER = CBORMapper.builder()
+            .disable(MapperFeature.DEFAULT_VIEW_INCLUSION)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .addModules(new JacksonMimeTypeModule(), new Jdk8Module(), new JavaTimeModule())
+            .build();
+
+    private Set<String> binaryTopics = Set.of();
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        Object topics = configs.get(BINARY_TOPICS);
+        if (topics instanceof Collection<?> collection) {
+            binaryTopics = collection.stream().map(String::valueOf).collect(Collectors.toUnmodifiableSet());
+        } else if (topics instanceof String list && !list.isBlank()) {
+            binaryTopics = Arrays.stream(list.split(","))
+                    .map(String::trim)
+                    .filter(topic -> !topic.isEmpty())
+                    .collect(Collectors.toUnmodifiableSet());
+        }
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (data == null) {
+            return null;
+        }
+
+        try {
+            if (!binaryTopics.contains(topic)) {
+                return JSON_MAPPER.writeValueAsBytes(data);
+            }
+
+            byte[] payload = CBOR_MAPPER.writeValueAsBytes(data);
+            byte[] framed = new byte[HEADER_LENGTH + payload.length];
+            framed[0] = MAGIC;
+            framed[1] = CBOR_V1;
+            System.arraycopy(payload, 0, framed, HEADER_LENGTH, payload.length);
+            return framed;
+        } catch (IOException e) {
+            throw new SerializationException("Can't serialize data for topic " + topic, e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.marcella.backend.consumers;
+
+import com.marcella.backend.services.DistributedWorkflowCoordinator;
+import com.marcella.backend.workflow.NodeCompletionMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "workflow.coordinator.batch-mode", havingValue = "true")
+public class NodeCompletionBatchConsumer {
+
+    private final DistributedWorkflowCoordinator workflowCoordinator;
+
+    @KafkaListener(
+            topics = "node-completion",
+            groupId = "workflow-coordinator",
+            containerFactory = "nodeCompletionBatchListenerFactory"
+    )
+    public void handleNodeCompletions(List<ConsumerRecord<String, Object>> records, Acknowledgment acknowledgment) {
+        List<NodeCompletionMessage> messages = new ArrayList<>(records.size());
+
+        for (ConsumerRecord<String, Object> record : records) {
+            if (record.value() instanceof NodeCompletionMessage message) {
+                messages.add(message);
+            } else {
+                log.warn("Skipping undeserializable node completion from partition: {} offset: {}",
+                        record.partition(), record.offset());
+            }
+        }
+
+        try {
+            log.info("Node completion batch received: {} records", records.size());
+
+            workflowCoordinator.handleNodeCompletions(messages);
+
+            acknowledgment.acknowledge();
+
+        } catch (Exception e) {
+            log.error("Error processing node completion batch of {} records - will acknowledge to avoid reprocessing",
+                    records.size(), e);
+
+            acknowledgment.acknowledge();
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.marcella.backend.services.DistributedWorkflowCoordinator;
 import com.marcella.backend.workflow.NodeCompletionMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.kafka.support.KafkaHeaders;
@@ -14,6 +15,7 @@ import org.springframework.stereotype.Service;
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@ConditionalOnProperty(name = "workflow.coordinator.batch-mode", havingValue = "false", matchIfMissing = true)
 public class NodeCompletionConsumer {
 
     private final DistributedWorkflowCoordinator workflowCoordinator;
@@ -13,6 +13,8 @@ import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -23,9 +25,12 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/v1/workflows")
@@ -40,6 +45,9 @@ public class WorkflowController {
     private final ExecutionRepository executionRepository;
     private final ReturnHandlerService returnHandler;
     private final ExecutionContextService executionContextService;
+    private final ExecutionCompletionNotifier completionNotifier;
+    private final ExecutionEventStream executionEventStream;
+    private final SpillStore spillStore;
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<PageResponse<WorkflowDto>> getWorkflows(
             @RequestParam(defaultValue = "0") @Min(0) int page,
@@ -103,7 +111,7 @@ public class WorkflowController {
     }
 
     @PostMapping("/{workflowId}/run")
-    public ResponseEntity<Map<String, Object>> runWorkflow(
+    public DeferredResult<ResponseEntity<Map<String, Object>>> runWorkflow(
             @PathVariable UUID workflowId,
             @RequestBody(required = false) Map<String, Object> requestBody,
             HttpServletRequest request
@@ -166,7 +174,7 @@ public class WorkflowController {
             if (waitForCompletion) {
                 return waitForExecutionCompletion(executionId, timeoutMs);
             } else {
-                return ResponseEntity.ok(Map.of(
+                return immediate(ResponseEntity.ok(Map.of(
                         "message", "Workflow execution started successfully",
                         "workflowId", workflowId,
                         "executionId", executionId,
@@ -174,17 +182,17 @@ public class WorkflowController {
                         "waitForCompletion", false,
                         "returnVariables", returnVariables != null ? returnVariables : List.of(),
                         "timestamp", Instant.now().toString()
-                ));
+                )));
             }
 
         } catch (Exception e) {
             log.error("❌ Failed to start workflow execution: {}", workflowId, e);
-            return ResponseEntity.badRequest().body(Map.of(
+            return immediate(ResponseEntity.badRequest().body(Map.of(
                     "error", e.getMessage(),
                     "workflowId", workflowId,
                     "status", "FAILED",
                     "timestamp", Instant.now().toString()
-            ));
+            )));
         }
     }
 
@@ -205,7 +213,7 @@ public class WorkflowController {
     }
 
     @PostMapping("/{workflowId}/run-sync")
-    public ResponseEntity<Map<String, Object>> runWorkflowSync(
+    public DeferredResult<ResponseEntity<Map<String, Object>>> runWorkflowSync(
             @PathVariable UUID workflowId,
             @RequestBody(required = false) Map<String, Object> payload,
             @RequestParam(required = false) List<String> returnVariables,
@@ -221,22 +229,80 @@ public class WorkflowController {
         return runWorkflow(workflowId, request, httpRequest);
     }
 
-    private ResponseEntity<Map<String, Object>> waitForExecutionCompletion(UUID executionId, long timeoutMs) {
-        long startTime = System.currentTimeMillis();
-        long endTime = startTime + timeoutMs;
+    @GetMapping(value = "/executions/{executionId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamExecutionEvents(
+            @PathVariable UUID executionId,
+            Authentication authentication) {
+        UUID userId = getUserIdFromAuth(authentication);
+        Execution execution = executionRepository.findById(executionId).orElse(null);
+        if (execution == null || !execution.getOwner().getId().equals(userId)) {
+            return ResponseEntity.notFound().build();
+        }
 
-        log.info("⏳ Waiting for execution completion: {} (timeout: {}ms)", executionId, timeoutMs);
+        return ResponseEntity.ok(executionEventStream.subscribe(executionId));
+    }
+
+    @GetMapping("/executions/{executionId}/spill/{sha256}")
+    public ResponseEntity<Resource> readSpilledContent(
+            @PathVariable UUID executionId,
+            @PathVariable String sha256,
+            Authentication authentication) {
+        UUID userId = getUserIdFromAuth(authentication);
+        Execution execution = executionRepository.findById(executionId).orElse(null);
+        if (execution == null || !execution.getOwner().getId().equals(userId)
+                || !spillStore.isBoundTo(sha256, executionId)) {
+            return ResponseEntity.notFound().build();
+        }
 
         try {
-            while (System.currentTimeMillis() < endTime) {
+            Resource content = new FileSystemResource(spillStore.resolve(sha256));
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .body(content);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    private DeferredResult<ResponseEntity<Map<String, Object>>> waitForExecutionCompletion(UUID executionId,
+                                                                                        long timeoutMs) {
+        log.info("⏳ Waiting for execution completion: {} (timeout: {}ms)", executionId, timeoutMs);
+
+        DeferredResult<ResponseEntity<Map<String, Object>>> deferred = new DeferredResult<>(timeoutMs);
+        CompletableFuture<Void> finished = completionNotifier.awaitFinished(executionId);
+
+        deferred.onCompletion(() -> completionNotifier.cancel(executionId, finished));
+        deferred.onTimeout(() -> {
+            log.warn("⏰ Execution timeout reached: {}", executionId);
+            Map<String, Object> result = returnHandler.createReturnPayload(executionId, "TIMEOUT");
+            result.put("error", "Execution timeout after " + timeoutMs + "ms");
+            deferred.setResult(ResponseEntity.status(HttpStatus.REQUEST_TIMEOUT).body(result));
+        });
+
+        finished.thenRunAsync(() -> resolveIfFinished(executionId, deferred),
+                completionNotifier.getResultExecutor());
+        resolveIfFinished(executionId, deferred);
+        return deferred;
+    }
+
+    private void resolveIfFinished(UUID executionId, DeferredResult<ResponseEntity<Map<String, Object>>> deferred) {
+        synchronized (deferred) {
+            if (deferred.isSetOrExpired()) {
+                return;
+            }
+
+            try {
                 Execution execution = executionRepository.findById(executionId).orElse(null);
 
                 if (execution == null) {
-                    return ResponseEntity.badRequest().body(Map.of(
+                    deferred.setResult(ResponseEntity.badRequest().body(Map.of(
                             "error", "Execution not found",
                             "executionId", executionId,
                             "status", "NOT_FOUND"
-                    ));
+                    )));
+                    return;
                 }
 
                 String status = execution.getStatus();
@@ -247,36 +313,28 @@ public class WorkflowController {
                     returnHandler.clearReturnVariables(executionId);
                     executionContextService.clearExecution(executionId);
                     log.info("cleared Execution context: {}", executionId);
-                    return ResponseEntity.ok(result);
+                    deferred.setResult(ResponseEntity.ok(result));
 
                 } else if ("FAILED".equals(status)) {
                     log.error("❌ Execution failed: {}", executionId);
                     Map<String, Object> result = returnHandler.createReturnPayload(executionId, "FAILED");
                     result.put("error", execution.getError());
                     returnHandler.clearReturnVariables(executionId);
-                    return ResponseEntity.ok(result);
+                    deferred.setResult(ResponseEntity.ok(result));
                 }
 
-                Thread.sleep(1000); // Check every second
+            } catch (Exception e) {
+                log.error("💥 Error while waiting for execution: {}", executionId, e);
+                Map<String, Object> result = returnHandler.createReturnPayload(executionId, "ERROR");
+                result.put("error", "Error while waiting: " + e.getMessage());
+                deferred.setResult(ResponseEntity.internalServerError().body(result));
             }
-
-            log.warn("⏰ Execution timeout reached: {}", executionId);
-            Map<String, Object> result = returnHandler.createReturnPayload(executionId, "TIMEOUT");
-            result.put("error", "Execution timeout after " + timeoutMs + "ms");
-            return ResponseEntity.status(HttpStatus.REQUEST_TIMEOUT).body(result);
-
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            log.error("🛑 Execution waiting interrupted: {}", executionId, e);
-            Map<String, Object> result = returnHandler.createReturnPayload(executionId, "INTERRUPTED");
-            result.put("error", "Execution waiting interrupted");
-            return ResponseEntity.internalServerError().body(result);
-
-        } catch (Exception e) {
-            log.error("💥 Error while waiting for execution: {}", executionId, e);
-            Map<String, Object> result = returnHandler.createReturnPayload(executionId, "ERROR");
-            result.put("error", "Error while waiting: " + e.getMessage());
-            return ResponseEntity.internalServerError().body(result);
         }
     }
+
+    private static <T> DeferredResult<T> immediate(T value) {
+        DeferredResult<T> deferred = new DeferredResult<>();
+        deferred.setResult(value);
+        return deferred;
+    }
 }
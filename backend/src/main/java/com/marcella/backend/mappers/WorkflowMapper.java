@@ -3,6 +3,7 @@ package com.marcella.backend.mappers;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.marcella.backend.entities.Workflows;
+import com.marcella.backend.nodeHandlers.NodeHandlerRegistry;
 import com.marcella.backend.workflow.WorkflowDefinition;
 import com.marcella.backend.workflow.WorkflowDto;
 import com.marcella.backend.workflow.WorkflowEdge;
@@ -21,6 +22,7 @@ import java.util.stream.Collectors;
 @Slf4j
 public class WorkflowMapper {
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final NodeHandlerRegistry handlerRegistry;
 
     public WorkflowDto toDto(Workflows entity) {
         WorkflowDto dto = new WorkflowDto();
@@ -102,13 +104,7 @@ public class WorkflowMapper {
     }
 
     private String determineAssignedService(String nodeType) {
-        Set<String> aiNodeTypes = Set.of(
-                "ai_decision", "ai_classification", "ai_analysis",
-                "llm_prompt", "ai_transform", "sentiment_analysis",
-                "text_generation", "data_analysis", "ml_prediction"
-        );
-
-        return aiNodeTypes.contains(nodeType.toLowerCase()) ? "fastapi" : "spring";
+        return handlerRegistry.isRemote(nodeType) ? "fastapi" : "spring";
     }
 
     public boolean validateWorkflowStructure(WorkflowDefinition workflow) {
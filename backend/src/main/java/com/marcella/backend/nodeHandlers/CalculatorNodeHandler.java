@@ -14,7 +14,6 @@ import org.springframework.stereotype.Service;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -23,9 +22,11 @@ public class CalculatorNodeHandler implements NodeHandler {
 
     private final WorkflowEventProducer eventProducer;
 
+    private static final NodeHandlerDescriptor DESCRIPTOR = NodeHandlerDescriptor.pure("calculator");
+
     @Override
-    public boolean canHandle(String nodeType) {
-        return Objects.equals(nodeType, "calculator");
+    public NodeHandlerDescriptor descriptor() {
+        return DESCRIPTOR;
     }
 
     @Override
@@ -76,10 +77,6 @@ public class CalculatorNodeHandler implements NodeHandler {
             log.error("Calculator node failed: {}", message.getNodeId(), e);
 
             Map<String, Object> errorOutput = new HashMap<>();
-            if (message.getContext() != null) {
-                errorOutput.putAll(message.getContext());
-            }
-
             errorOutput.put("error", e.getMessage());
             errorOutput.put("expression", message.getNodeData().get("expression"));
             errorOutput.put("result", null);
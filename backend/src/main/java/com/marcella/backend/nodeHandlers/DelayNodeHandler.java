@@ -1,11 +1,13 @@
 package com.marcella.backend.nodeHandlers;
 
 import com.marcella.backend.services.WorkflowEventProducer;
+import com.marcella.backend.services.WorkflowTimerService;
 import com.marcella.backend.utils.TemplateUtils;
 import com.marcella.backend.workflow.NodeCompletionMessage;
 import com.marcella.backend.workflow.NodeExecutionMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import java.time.Instant;
 import java.util.HashMap;
@@ -17,14 +19,20 @@ import java.util.Map;
 public class DelayNodeHandler implements NodeHandler {
 
     private final WorkflowEventProducer eventProducer;
+    private final WorkflowTimerService timerService;
+
+    @Value("${workflow.timers.max-delay-ms:86400000}")
+    private long maxDelayMs;
+
+    private static final NodeHandlerDescriptor DESCRIPTOR = NodeHandlerDescriptor.cpu("delay");
 
     @Override
-    public boolean canHandle(String nodeType) {
-        return "delay".equals(nodeType);
+    public NodeHandlerDescriptor descriptor() {
+        return DESCRIPTOR;
     }
 
     @Override
-    public Map<String, Object> execute(NodeExecutionMessage message) throws InterruptedException {
+    public Map<String, Object> execute(NodeExecutionMessage message) {
         long startTime = System.currentTimeMillis();
         log.info("Executing delay node: {}", message.getNodeId());
 
@@ -35,9 +43,9 @@ public class DelayNodeHandler implements NodeHandler {
             String rawDuration = String.valueOf(nodeData.getOrDefault("duration", "1000"));
             String processedDuration = TemplateUtils.substitute(rawDuration, context);
 
-            Integer duration;
+            long duration;
             try {
-                duration = Integer.valueOf(processedDuration);
+                duration = Long.parseLong(processedDuration);
             } catch (NumberFormatException e) {
                 log.warn("Invalid duration format '{}', using default 1000ms", processedDuration);
                 duration = 1000;
@@ -46,9 +54,9 @@ public class DelayNodeHandler implements NodeHandler {
             if (duration < 0) {
                 log.warn("Negative duration {} not allowed, using 0", duration);
                 duration = 0;
-            } else if (duration > 300000) {
-                log.warn("Duration {} exceeds maximum 300000ms, capping at 300000", duration);
-                duration = 300000;
+            } else if (duration > maxDelayMs) {
+                log.warn("Duration {} exceeds maximum {}ms, capping at {}", duration, maxDelayMs, maxDelayMs);
+                duration = maxDelayMs;
             }
 
             log.info("Delaying for {} milliseconds", duration);
@@ -61,50 +69,38 @@ public class DelayNodeHandler implements NodeHandler {
                     ? TemplateUtils.substitute((String) nodeData.get("reason"), context)
                     : "Workflow delay";
 
-            Thread.sleep(duration);
+            Instant executedAt = Instant.ofEpochMilli(startTime);
+            Instant fireAt = executedAt.plusMillis(duration);
 
             Map<String, Object> output = new HashMap<>();
-            if (context != null) {
-                output.putAll(context);
-            }
-
             output.put("delay_completed", true);
             output.put("duration_ms", duration);
             output.put("delay_message", delayMessage);
             output.put("delay_reason", delayReason);
-            output.put("completed_at", Instant.now().toString());
+            output.put("completed_at", fireAt.toString());
             output.put("node_type", "delay");
-            output.put("executed_at", Instant.now().toString());
+            output.put("executed_at", executedAt.toString());
 
-            long processingTime = System.currentTimeMillis() - startTime;
-            publishCompletionEvent(message, output, "COMPLETED", processingTime);
+            NodeCompletionMessage completionMessage = NodeCompletionMessage.builder()
+                    .executionId(message.getExecutionId())
+                    .workflowId(message.getWorkflowId())
+                    .nodeId(message.getNodeId())
+                    .nodeType(message.getNodeType())
+                    .status("COMPLETED")
+                    .output(output)
+                    .timestamp(executedAt)
+                    .build();
 
-            log.info("Delay node completed successfully: {} with duration {}ms", message.getNodeId(), duration);
-            return output;
-
-        } catch (InterruptedException e) {
-            long processingTime = System.currentTimeMillis() - startTime;
-            log.error("Delay node interrupted: {}", message.getNodeId(), e);
+            timerService.schedule(completionMessage, fireAt);
 
-            Map<String, Object> errorOutput = new HashMap<>();
-            if (message.getContext() != null) {
-                errorOutput.putAll(message.getContext());
-            }
-            errorOutput.put("error", e.getMessage());
-            errorOutput.put("delay_completed", false);
-            errorOutput.put("failed_at", Instant.now().toString());
-            errorOutput.put("node_type", "delay");
+            log.info("Delay node parked: {} until {}", message.getNodeId(), fireAt);
+            return output;
 
-            publishCompletionEvent(message, errorOutput, "FAILED", processingTime);
-            throw e;
         } catch (Exception e) {
             long processingTime = System.currentTimeMillis() - startTime;
             log.error("Delay node failed: {}", message.getNodeId(), e);
 
             Map<String, Object> errorOutput = new HashMap<>();
-            if (message.getContext() != null) {
-                errorOutput.putAll(message.getContext());
-            }
             errorOutput.put("error", e.getMessage());
             errorOutput.put("delay_completed", false);
             errorOutput.put("failed_at", Instant.now().toString());
@@ -9,6 +9,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
@@ -21,9 +22,11 @@ public class EmailNodeHandler implements NodeHandler  {
     private final WorkflowEventProducer eventProducer;
     private final EmailService emailService;
 
+    private static final NodeHandlerDescriptor DESCRIPTOR = NodeHandlerDescriptor.io(16, Duration.ofSeconds(30), "action");
+
     @Override
-    public boolean canHandle(String nodeType) {
-        return "action".equals(nodeType);
+    public NodeHandlerDescriptor descriptor() {
+        return DESCRIPTOR;
     }
 
     @Override
@@ -48,10 +51,6 @@ public class EmailNodeHandler implements NodeHandler  {
 
             Map<String, Object> output = new HashMap<>();
 
-            if (context != null) {
-                output.putAll(context);
-            }
-
             output.put("email_sent", emailSent);
             output.put("recipient", to);
             output.put("subject", subject);
@@ -70,9 +69,6 @@ public class EmailNodeHandler implements NodeHandler  {
             log.error("Email node failed: {}", message.getNodeId(), e);
 
             Map<String, Object> errorOutput = new HashMap<>();
-            if (message.getContext() != null) {
-                errorOutput.putAll(message.getContext());
-            }
             errorOutput.put("error", e.getMessage());
             errorOutput.put("email_sent", false);
             errorOutput.put("failed_at", Instant.now().toString());
@@ -19,9 +19,11 @@ public class FilterNodeHandler implements NodeHandler {
 
     private final WorkflowEventProducer eventProducer;
 
+    private static final NodeHandlerDescriptor DESCRIPTOR = NodeHandlerDescriptor.pure("condition");
+
     @Override
-    public boolean canHandle(String nodeType) {
-        return "condition".equalsIgnoreCase(nodeType);
+    public NodeHandlerDescriptor descriptor() {
+        return DESCRIPTOR;
     }
 
     @Override
@@ -36,7 +38,7 @@ public class FilterNodeHandler implements NodeHandler {
             Map<String, Object> condition = (Map<String, Object>) nodeData.get("condition");
             if (condition == null) {
                 log.warn("No condition specified in filter node: {}, defaulting to true", message.getNodeId());
-                return executeWithDefaultResult(message, context, true, startTime);
+                return executeWithDefaultResult(message, true, startTime);
             }
 
             String field = TemplateUtils.substitute((String) condition.get("field"), context);
@@ -45,7 +47,7 @@ public class FilterNodeHandler implements NodeHandler {
 
             if (field == null || operator == null) {
                 log.warn("Invalid condition configuration in node: {} - missing field or operator", message.getNodeId());
-                return executeWithDefaultResult(message, context, false, startTime);
+                return executeWithDefaultResult(message, false, startTime);
             }
 
             Object actualValue = context.get(field);
@@ -56,7 +58,7 @@ public class FilterNodeHandler implements NodeHandler {
             log.info("Filter evaluation for node {}: {} {} {} = {}",
                     message.getNodeId(), actualValue, operator, expectedValue, conditionResult);
 
-            Map<String, Object> output = buildConditionOutput(context, conditionResult, actualValue, operator, expectedValue);
+            Map<String, Object> output = buildConditionOutput(conditionResult, actualValue, operator, expectedValue);
 
             long processingTime = System.currentTimeMillis() - startTime;
             publishCompletionEvent(message, output, "COMPLETED", processingTime);
@@ -79,25 +81,19 @@ public class FilterNodeHandler implements NodeHandler {
     }
 
     private Map<String, Object> executeWithDefaultResult(NodeExecutionMessage message,
-                                                         Map<String, Object> context,
                                                          boolean defaultResult,
                                                          long startTime) {
-        Map<String, Object> output = buildConditionOutput(context, defaultResult, null, "default", null);
+        Map<String, Object> output = buildConditionOutput(defaultResult, null, "default", null);
         long processingTime = System.currentTimeMillis() - startTime;
         publishCompletionEvent(message, output, "COMPLETED", processingTime);
         return output;
     }
 
-    private Map<String, Object> buildConditionOutput(Map<String, Object> context,
-                                                     boolean conditionResult,
+    private Map<String, Object> buildConditionOutput(boolean conditionResult,
                                                      Object actualValue,
                                                      String operator,
                                                      Object expectedValue) {
         Map<String, Object> output = new HashMap<>();
-        if (context != null) {
-            output.putAll(context);
-        }
-
         output.put("condition_result", conditionResult);
         output.put("condition_passed", conditionResult);
         output.put("evaluated_at", Instant.now().toString());
@@ -14,6 +14,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 
@@ -24,9 +25,11 @@ public class GmailAddLabelNodeHandler implements NodeHandler {
 
     private final WorkflowEventProducer eventProducer;
 
+    private static final NodeHandlerDescriptor DESCRIPTOR = NodeHandlerDescriptor.io(8, Duration.ofSeconds(30), "gmailAddLabel");
+
     @Override
-    public boolean canHandle(String nodeType) {
-        return "gmailAddLabel".equalsIgnoreCase(nodeType);
+    public NodeHandlerDescriptor descriptor() {
+        return DESCRIPTOR;
     }
 
     @Override
@@ -132,7 +135,6 @@ public class GmailAddLabelNodeHandler implements NodeHandler {
                 }
             }
 
-            if (context != null) output.putAll(context);
             output.put("gmail_messages_modified", successfullyModified.size());
             output.put("gmail_successfully_modified", successfullyModified);
             output.put("gmail_failed_to_modify", failedToModify);
@@ -152,7 +154,6 @@ public class GmailAddLabelNodeHandler implements NodeHandler {
             log.error("Gmail Add Label Node Error: {}", message.getNodeId(), e);
 
             Map<String, Object> errorOutput = new HashMap<>();
-            if (message.getContext() != null) errorOutput.putAll(message.getContext());
             errorOutput.put("error", e.getMessage());
             errorOutput.put("label_modification_successful", false);
             errorOutput.put("failed_at", Instant.now().toString());
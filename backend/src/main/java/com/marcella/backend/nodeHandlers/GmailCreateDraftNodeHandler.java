@@ -18,6 +18,7 @@ import jakarta.mail.internet.InternetAddress;
 import jakarta.mail.internet.MimeMessage;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 
@@ -28,9 +29,11 @@ public class GmailCreateDraftNodeHandler implements NodeHandler {
 
     private final WorkflowEventProducer eventProducer;
 
+    private static final NodeHandlerDescriptor DESCRIPTOR = NodeHandlerDescriptor.io(8, Duration.ofSeconds(30), "gmailCreateDraft");
+
     @Override
-    public boolean canHandle(String nodeType) {
-        return "gmailCreateDraft".equalsIgnoreCase(nodeType);
+    public NodeHandlerDescriptor descriptor() {
+        return DESCRIPTOR;
     }
 
     @Override
@@ -74,7 +77,6 @@ public class GmailCreateDraftNodeHandler implements NodeHandler {
 
             Draft createdDraft = service.users().drafts().create("me", draft).execute();
 
-            if (context != null) output.putAll(context);
             output.put("gmail_draft_id", createdDraft.getId());
             output.put("gmail_draft_message_id", createdDraft.getMessage().getId());
             output.put("gmail_draft_thread_id", createdDraft.getMessage().getThreadId());
@@ -93,7 +95,6 @@ public class GmailCreateDraftNodeHandler implements NodeHandler {
             log.error("Gmail Create Draft Node Error: {}", message.getNodeId(), e);
 
             Map<String, Object> errorOutput = new HashMap<>();
-            if (message.getContext() != null) errorOutput.putAll(message.getContext());
             errorOutput.put("error", e.getMessage());
             errorOutput.put("draft_creation_successful", false);
             errorOutput.put("failed_at", Instant.now().toString());
@@ -12,6 +12,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 
@@ -22,9 +23,11 @@ public class GmailMarkReadNodeHandler implements NodeHandler {
 
     private final WorkflowEventProducer eventProducer;
 
+    private static final NodeHandlerDescriptor DESCRIPTOR = NodeHandlerDescriptor.io(8, Duration.ofSeconds(30), "gmailMarkRead");
+
     @Override
-    public boolean canHandle(String nodeType) {
-        return "gmailMarkRead".equalsIgnoreCase(nodeType);
+    public NodeHandlerDescriptor descriptor() {
+        return DESCRIPTOR;
     }
 
     @Override
@@ -105,7 +108,6 @@ public class GmailMarkReadNodeHandler implements NodeHandler {
                 }
             }
 
-            if (context != null) output.putAll(context);
             output.put("gmail_messages_modified", successfullyModified.size());
             output.put("gmail_successfully_modified", successfullyModified);
             output.put("gmail_failed_to_modify", failedToModify);
@@ -124,7 +126,6 @@ public class GmailMarkReadNodeHandler implements NodeHandler {
             log.error("Gmail Mark Read Node Error: {}", message.getNodeId(), e);
 
             Map<String, Object> errorOutput = new HashMap<>();
-            if (message.getContext() != null) errorOutput.putAll(message.getContext());
             errorOutput.put("error", e.getMessage());
             errorOutput.put("modification_successful", false);
             errorOutput.put("failed_at", Instant.now().toString());
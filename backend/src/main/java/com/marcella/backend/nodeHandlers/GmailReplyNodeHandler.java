@@ -18,6 +18,7 @@ import jakarta.mail.internet.InternetAddress;
 import jakarta.mail.internet.MimeMessage;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 
@@ -28,9 +29,11 @@ public class GmailReplyNodeHandler implements NodeHandler {
 
     private final WorkflowEventProducer eventProducer;
 
+    private static final NodeHandlerDescriptor DESCRIPTOR = NodeHandlerDescriptor.io(8, Duration.ofSeconds(30), "gmailReply");
+
     @Override
-    public boolean canHandle(String nodeType) {
-        return "gmailReply".equalsIgnoreCase(nodeType);
+    public NodeHandlerDescriptor descriptor() {
+        return DESCRIPTOR;
     }
 
     @Override
@@ -103,7 +106,6 @@ public class GmailReplyNodeHandler implements NodeHandler {
                 log.info("Reply draft created successfully: draftId={}", createdDraft.getId());
             }
 
-            if (context != null) output.putAll(context);
             output.put("gmail_reply_message_id", sentMessage.getId());
             output.put("gmail_reply_thread_id", sentMessage.getThreadId());
             output.put("gmail_original_message_id", messageId);
@@ -124,7 +126,6 @@ public class GmailReplyNodeHandler implements NodeHandler {
             log.error("Gmail Reply Node Error: {}", message.getNodeId(), e);
 
             Map<String, Object> errorOutput = new HashMap<>();
-            if (message.getContext() != null) errorOutput.putAll(message.getContext());
             errorOutput.put("error", e.getMessage());
             errorOutput.put("reply_successful", false);
             errorOutput.put("failed_at", Instant.now().toString());
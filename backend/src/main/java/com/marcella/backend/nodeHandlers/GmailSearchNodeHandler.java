@@ -12,6 +12,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -23,9 +24,11 @@ public class GmailSearchNodeHandler implements NodeHandler {
 
     private final WorkflowEventProducer eventProducer;
 
+    private static final NodeHandlerDescriptor DESCRIPTOR = NodeHandlerDescriptor.io(8, Duration.ofSeconds(30), "gmailSearch");
+
     @Override
-    public boolean canHandle(String nodeType) {
-        return "gmailSearch".equalsIgnoreCase(nodeType);
+    public NodeHandlerDescriptor descriptor() {
+        return DESCRIPTOR;
     }
 
     @Override
@@ -87,7 +90,6 @@ public class GmailSearchNodeHandler implements NodeHandler {
                 }
             }
 
-            if (context != null) output.putAll(context);
             output.put("gmail_messages", messageDetails);
             output.put("gmail_message_count", messageDetails.size());
             output.put("gmail_query", query);
@@ -107,7 +109,6 @@ public class GmailSearchNodeHandler implements NodeHandler {
             log.error("Gmail Search Node Error: {}", message.getNodeId(), e);
 
             Map<String, Object> errorOutput = new HashMap<>();
-            if (message.getContext() != null) errorOutput.putAll(message.getContext());
             errorOutput.put("error", e.getMessage());
             errorOutput.put("search_successful", false);
             errorOutput.put("failed_at", Instant.now().toString());
@@ -17,6 +17,7 @@ import jakarta.mail.internet.InternetAddress;
 import jakarta.mail.internet.MimeMessage;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 
@@ -27,9 +28,11 @@ public class GmailSendNodeHandler implements NodeHandler {
 
     private final WorkflowEventProducer eventProducer;
 
+    private static final NodeHandlerDescriptor DESCRIPTOR = NodeHandlerDescriptor.io(8, Duration.ofSeconds(30), "gmailSend");
+
     @Override
-    public boolean canHandle(String nodeType) {
-        return "gmailSend".equalsIgnoreCase(nodeType);
+    public NodeHandlerDescriptor descriptor() {
+        return DESCRIPTOR;
     }
 
     @Override
@@ -61,7 +64,6 @@ public class GmailSendNodeHandler implements NodeHandler {
 
             message1 = service.users().messages().send("me", message1).execute();
 
-            if (context != null) output.putAll(context);
             output.put("gmail_message_id", message1.getId());
             output.put("gmail_sent", true);
             output.put("gmail_to", to);
@@ -79,7 +81,6 @@ public class GmailSendNodeHandler implements NodeHandler {
             log.error("Gmail Send Node Error: {}", message.getNodeId(), e);
 
             Map<String, Object> errorOutput = new HashMap<>();
-            if (message.getContext() != null) errorOutput.putAll(message.getContext());
             errorOutput.put("error", e.getMessage());
             errorOutput.put("gmail_sent", false);
             errorOutput.put("failed_at", Instant.now().toString());
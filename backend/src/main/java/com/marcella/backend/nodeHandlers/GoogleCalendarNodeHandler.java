@@ -14,6 +14,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.text.SimpleDateFormat;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
@@ -28,9 +29,11 @@ public class GoogleCalendarNodeHandler implements NodeHandler {
 
     private final WorkflowEventProducer eventProducer;
 
+    private static final NodeHandlerDescriptor DESCRIPTOR = NodeHandlerDescriptor.io(8, Duration.ofSeconds(30), "googleCalendar");
+
     @Override
-    public boolean canHandle(String nodeType) {
-        return "googleCalendar".equalsIgnoreCase(nodeType);
+    public NodeHandlerDescriptor descriptor() {
+        return DESCRIPTOR;
     }
 
     @Override
@@ -93,7 +96,6 @@ public class GoogleCalendarNodeHandler implements NodeHandler {
 
             Event createdEvent = service.events().insert(calendarId, event).execute();
 
-            if (context != null) output.putAll(context);
             output.put("calendar_event_summary", summary);
             output.put("calendar_event_id", createdEvent.getId());
             output.put("calendar_event_link", createdEvent.getHtmlLink());
@@ -116,7 +118,6 @@ public class GoogleCalendarNodeHandler implements NodeHandler {
             log.error("Google Calendar Node Error for node: {}", message.getNodeId(), e);
 
             Map<String, Object> errorOutput = new HashMap<>();
-            if (message.getContext() != null) errorOutput.putAll(message.getContext());
             errorOutput.put("error", e.getMessage());
             errorOutput.put("calendar_operation_failed", true);
             errorOutput.put("failed_at", Instant.now().toString());
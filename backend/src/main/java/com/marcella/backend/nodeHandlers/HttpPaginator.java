@@ -0,0 +1,276 @@
+package com.marcella.backend.nodeHandlers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcella.backend.services.SpillStore;
+import com.marcella.backend.utils.JsonProjection;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HttpPaginator {
+
+    private final SpillStore spillStore;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Lazy
+    @Autowired
+    private NodeExecutionDispatcher dispatcher;
+
+    @Value("${workflow.http.pagination.max-pages:100}")
+    private int defaultMaxPages;
+
+    @Value("${workflow.http.pagination.prefetch-threads:16}")
+    private int prefetchThreads;
+
+    private static final Pattern NEXT_LINK = Pattern.compile("<([^>]+)>\\s*;[^,]*rel=\"?next\"?", Pattern.CASE_INSENSITIVE);
+    private static final byte[] NEWLINE = {'\n'};
+    private static final String NDJSON = "application/x-ndjson";
+
+    private ThreadPoolExecutor prefetchExecutor;
+
+    @PostConstruct
+    public void init() {
+        prefetchExecutor = new ThreadPoolExecutor(0, prefetchThreads, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), new CustomizableThreadFactory("http-prefetch-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        prefetchExecutor.shutdown();
+    }
+
+    public PaginationResult paginate(URI firstUri, String nodeType, Object paginate,
+                                     Function<URI, ResponseEntity<String>> fetcher) throws IOException {
+        Options options = Options.from(paginate, defaultMaxPages);
+
+        Map<String, String> expressions = new LinkedHashMap<>();
+        expressions.put("records", options.recordsPath);
+        if ("cursor".equals(options.type)) {
+            if (options.cursorPath == null) {
+                throw new IllegalArgumentException("cursorPath is required for cursor pagination");
+            }
+            expressions.put("cursor", options.cursorPath);
+        }
+        JsonProjection projection = JsonProjection.compile(expressions);
+
+        URI uri = firstPage(firstUri, options);
+        int pages = 0;
+        long records = 0;
+        ResponseEntity<String> page = fetcher.apply(uri);
+        ResponseEntity<String> lastPage = page;
+
+        try (SpillStore.SpillWriter writer = spillStore.openWriter(NDJSON)) {
+            while (page != null) {
+                pages++;
+                lastPage = page;
+                boolean morePagesAllowed = pages < options.maxPages;
+
+                URI next = morePagesAllowed ? nextBeforeParsing(uri, page.getHeaders(), options, pages) : null;
+                Supplier<ResponseEntity<String>> prefetch = next != null ? fetchAhead(fetcher, next, nodeType) : null;
+
+                Map<String, Object> projected = page.getBody() == null || page.getBody().isBlank()
+                        ? Map.of()
+                        : projection.extract(objectMapper, page.getBody());
+
+                if (morePagesAllowed && "cursor".equals(options.type)) {
+                    Object cursor = projected.get("cursor");
+                    if (cursor != null && !cursor.toString().isBlank()) {
+                        next = withParam(uri, options.cursorParam, cursor.toString());
+                        prefetch = fetchAhead(fetcher, next, nodeType);
+                    }
+                }
+
+                List<?> pageRecords = asList(projected.get("records"));
+                boolean limitReached = false;
+                for (Object item : pageRecords) {
+                    writer.write(objectMapper.writeValueAsBytes(item));
+                    writer.write(NEWLINE);
+                    records++;
+                    if (options.maxRecords > 0 && records >= options.maxRecords) {
+                        limitReached = true;
+                        break;
+                    }
+                }
+
+                boolean lastPageReached = switch (options.type) {
+                    case "offset" -> pageRecords.size() < options.pageSize;
+                    case "page" -> pageRecords.isEmpty();
+                    default -> false;
+                };
+
+                if (prefetch == null || limitReached || lastPageReached) {
+                    break;
+                }
+
+                uri = next;
+                page = prefetch.get();
+            }
+
+            SpillStore.SpillHandle handle = writer.finish();
+            log.info("Paginated {} pages with {} records into {}", pages, records, handle.getUri());
+            return new PaginationResult(pages, records, handle, lastPage);
+        }
+    }
+
+    private URI firstPage(URI uri, Options options) {
+        return switch (options.type) {
+            case "offset" -> withParam(withParam(uri, options.offsetParam, String.valueOf(options.start)),
+                    options.limitParam, String.valueOf(options.pageSize));
+            case "page" -> withParam(uri, options.pageParam, String.valueOf(options.start));
+            default -> uri;
+        };
+    }
+
+    private URI nextBeforeParsing(URI uri, HttpHeaders headers, Options options, int pages) {
+        return switch (options.type) {
+            case "link" -> nextLink(uri, headers);
+            case "offset" -> withParam(uri, options.offsetParam,
+                    String.valueOf(options.start + (long) pages * options.pageSize));
+            case "page" -> withParam(uri, options.pageParam, String.valueOf(options.start + pages));
+            default -> null;
+        };
+    }
+
+    private URI nextLink(URI uri, HttpHeaders headers) {
+        for (String link : headers.getOrEmpty(HttpHeaders.LINK)) {
+            Matcher matcher = NEXT_LINK.matcher(link);
+            if (matcher.find()) {
+                return uri.resolve(matcher.group(1).trim());
+            }
+        }
+        return null;
+    }
+
+    private Supplier<ResponseEntity<String>> fetchAhead(Function<URI, ResponseEntity<String>> fetcher, URI uri,
+                                                        String nodeType) {
+        if (!dispatcher.tryAcquirePermit(nodeType)) {
+            return () -> fetcher.apply(uri);
+        }
+
+        CompletableFuture<ResponseEntity<String>> prefetch;
+        try {
+            prefetch = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return fetcher.apply(uri);
+                } finally {
+                    dispatcher.releasePermit(nodeType);
+                }
+            }, prefetchExecutor);
+        } catch (RejectedExecutionException e) {
+            dispatcher.releasePermit(nodeType);
+            return () -> fetcher.apply(uri);
+        }
+        return () -> await(prefetch);
+    }
+
+    private static ResponseEntity<String> await(CompletableFuture<ResponseEntity<String>> prefetch) {
+        try {
+            return prefetch.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static URI withParam(URI uri, String name, String value) {
+        return UriComponentsBuilder.fromUri(uri)
+                .replaceQueryParam(name, UriUtils.encodeQueryParam(value, StandardCharsets.UTF_8))
+                .build(true)
+                .toUri();
+    }
+
+    private static List<?> asList(Object value) {
+        if (value == null) {
+            return List.of();
+        }
+        if (value instanceof List<?> list) {
+            return list;
+        }
+        return List.of(value);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class PaginationResult {
+        private final int pages;
+        private final long records;
+        private final SpillStore.SpillHandle handle;
+        private final ResponseEntity<String> lastPage;
+    }
+
+    private static class Options {
+        private String type = "link";
+        private String recordsPath = "$";
+        private String cursorPath;
+        private String cursorParam = "cursor";
+        private String offsetParam = "offset";
+        private String limitParam = "limit";
+        private String pageParam = "page";
+        private int pageSize = 100;
+        private long start;
+        private int maxPages;
+        private long maxRecords;
+
+        private static Options from(Object paginate, int defaultMaxPages) {
+            Options options = new Options();
+            options.maxPages = defaultMaxPages;
+
+            if (paginate instanceof Map<?, ?> config) {
+                options.type = string(config, "type", options.type).toLowerCase();
+                options.recordsPath = string(config, "recordsPath", options.recordsPath);
+                options.cursorPath = string(config, "cursorPath", null);
+                options.cursorParam = string(config, "cursorParam", options.cursorParam);
+                options.offsetParam = string(config, "offsetParam", options.offsetParam);
+                options.limitParam = string(config, "limitParam", options.limitParam);
+                options.pageParam = string(config, "pageParam", options.pageParam);
+                options.pageSize = Integer.parseInt(string(config, "pageSize", String.valueOf(options.pageSize)));
+                options.start = Long.parseLong(string(config, "start", "page".equals(options.type) ? "1" : "0"));
+                options.maxPages = Integer.parseInt(string(config, "maxPages", String.valueOf(options.maxPages)));
+                options.maxRecords = Long.parseLong(string(config, "maxRecords", "0"));
+            } else if (paginate instanceof String type && !type.isBlank() && !"true".equalsIgnoreCase(type)) {
+                options.type = type.toLowerCase();
+                if ("page".equals(options.type)) {
+                    options.start = 1;
+                }
+            }
+
+            if (!Set.of("link", "cursor", "offset", "page").contains(options.type)) {
+                throw new IllegalArgumentException("Unsupported pagination type: " + options.type);
+            }
+            return options;
+        }
+
+        private static String string(Map<?, ?> config, String key, String defaultValue) {
+            Object value = config.get(key);
+            return value != null && !value.toString().isBlank() ? value.toString().trim() : defaultValue;
+        }
+    }
+}
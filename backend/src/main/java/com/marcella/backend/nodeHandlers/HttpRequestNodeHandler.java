@@ -2,21 +2,28 @@ package com.marcella.backend.nodeHandlers;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcella.backend.services.HttpResponseCache;
+import com.marcella.backend.services.SpillStore;
 import com.marcella.backend.services.WorkflowEventProducer;
+import com.marcella.backend.utils.JsonProjection;
 import com.marcella.backend.utils.TemplateUtils;
 import com.marcella.backend.workflow.NodeCompletionMessage;
 import com.marcella.backend.workflow.NodeExecutionMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
@@ -24,12 +31,24 @@ import java.util.Map;
 public class HttpRequestNodeHandler implements NodeHandler {
 
     private final WorkflowEventProducer eventProducer;
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate nodeRestTemplate;
+    private final HttpResponseCache responseCache;
+    private final SpillStore spillStore;
+    private final HttpPaginator paginator;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    @Value("${workflow.http.streaming.enabled:false}")
+    private boolean streamingEnabled;
+
+    @Value("${workflow.http.streaming.spill-threshold-bytes:1048576}")
+    private int spillThresholdBytes;
+
+    private static final NodeHandlerDescriptor DESCRIPTOR = NodeHandlerDescriptor.io(64, Duration.ofSeconds(60),
+            "httpRequest", "httpGet", "httpPost", "httpPut", "httpDelete", "httpPatch", "httpHead", "httpOptions");
+
     @Override
-    public boolean canHandle(String nodeType) {
-        return nodeType.toLowerCase().startsWith("http");
+    public NodeHandlerDescriptor descriptor() {
+        return DESCRIPTOR;
     }
 
     @Override
@@ -84,16 +103,29 @@ public class HttpRequestNodeHandler implements NodeHandler {
                 }
             }
 
-            HttpEntity<?> entity = new HttpEntity<>(processedBody, httpHeaders);
-
-            ResponseEntity<String> response = restTemplate.exchange(
-                    finalUri,
-                    HttpMethod.valueOf(method),
-                    entity,
-                    String.class
-            );
+            HttpMethod httpMethod = HttpMethod.valueOf(method);
+            Map<String, String> extract = extractExpressions(data.get("extract"));
+            Object paginate = data.get("paginate");
+            if (paginate != null && !"false".equalsIgnoreCase(paginate.toString())) {
+                HttpPaginator.PaginationResult result = paginator.paginate(finalUri, message.getNodeType(), paginate,
+                        pageUri -> exchange(pageUri, httpMethod, processedBody, httpHeaders));
+                processPaginatedResponse(result, message.getExecutionId(), output);
+            } else if (isStreaming(data)) {
+                ResponseEntity<SpillStore.CapturedBody> response =
+                        exchangeStreaming(finalUri, httpMethod, processedBody, httpHeaders);
+                if (response.getBody().isSpilled()) {
+                    processSpilledResponse(response, message.getExecutionId(), extract, output);
+                } else {
+                    processResponse(decode(response), extract, output);
+                }
+            } else {
+                ResponseEntity<String> response = responseCache.isCacheable(httpMethod, data)
+                        ? responseCache.fetch(httpMethod, finalUri, httpHeaders,
+                                requestHeaders -> exchange(finalUri, httpMethod, processedBody, requestHeaders))
+                        : exchange(finalUri, httpMethod, processedBody, httpHeaders);
 
-            processResponse(response, output, context);
+                processResponse(response, extract, output);
+            }
 
             long processingTime = System.currentTimeMillis() - startTime;
             publishCompletionEvent(message, output, "COMPLETED", processingTime);
@@ -104,9 +136,6 @@ public class HttpRequestNodeHandler implements NodeHandler {
             log.error("HTTP Request Node Error for node: {}", message.getNodeId(), e);
 
             Map<String, Object> errorOutput = new HashMap<>();
-            if (message.getContext() != null) {
-                errorOutput.putAll(message.getContext());
-            }
             errorOutput.put("error", e.getMessage());
             errorOutput.put("http_request_failed", true);
             errorOutput.put("failed_at", Instant.now().toString());
@@ -117,6 +146,69 @@ public class HttpRequestNodeHandler implements NodeHandler {
         }
     }
 
+    private ResponseEntity<String> exchange(URI uri, HttpMethod method, Object body, HttpHeaders headers) {
+        return nodeRestTemplate.exchange(uri, method, new HttpEntity<>(body, headers), String.class);
+    }
+
+    private Map<String, String> extractExpressions(Object extract) {
+        Map<String, String> expressions = new LinkedHashMap<>();
+        if (extract == null) {
+            return expressions;
+        }
+
+        if (extract instanceof Map<?, ?> aliases) {
+            aliases.forEach((alias, expression) -> expressions.put(alias.toString(), expression.toString()));
+            return expressions;
+        }
+
+        Collection<?> items = extract instanceof Collection<?> list
+                ? list
+                : Arrays.asList(extract.toString().split("[,\\n]"));
+        for (Object item : items) {
+            String expression = item.toString().trim();
+            if (expression.isEmpty()) {
+                continue;
+            }
+            String alias = JsonProjection.defaultAlias(expression);
+            expressions.put(expressions.containsKey(alias) ? expression : alias, expression);
+        }
+        return expressions;
+    }
+
+    private void putExtracted(Map<String, Object> values, Map<String, Object> output) {
+        output.put("http_response_extract", values);
+        values.forEach((alias, value) -> output.put("response_" + alias, value));
+    }
+
+    private boolean isStreaming(Map<String, Object> data) {
+        Object streamResponse = data.get("streamResponse");
+        return streamResponse != null ? Boolean.parseBoolean(streamResponse.toString()) : streamingEnabled;
+    }
+
+    private ResponseEntity<SpillStore.CapturedBody> exchangeStreaming(URI uri, HttpMethod method, Object body,
+                                                                     HttpHeaders headers) {
+        return nodeRestTemplate.execute(uri, method,
+                nodeRestTemplate.httpEntityCallback(new HttpEntity<>(body, headers)),
+                response -> {
+                    MediaType contentType = response.getHeaders().getContentType();
+                    SpillStore.CapturedBody captured = spillStore.capture(response.getBody(),
+                            contentType != null ? contentType.toString() : null, spillThresholdBytes);
+                    return ResponseEntity.status(response.getStatusCode())
+                            .headers(response.getHeaders())
+                            .body(captured);
+                });
+    }
+
+    private ResponseEntity<String> decode(ResponseEntity<SpillStore.CapturedBody> response) {
+        MediaType contentType = response.getHeaders().getContentType();
+        Charset charset = contentType != null && contentType.getCharset() != null
+                ? contentType.getCharset()
+                : StandardCharsets.UTF_8;
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .body(new String(response.getBody().getBytes(), charset));
+    }
+
     private Map<String, String> processHeaders(Object headersObj, Map<String, Object> context) {
         Map<String, String> processedHeaders = new HashMap<>();
 
@@ -261,12 +353,7 @@ public class HttpRequestNodeHandler implements NodeHandler {
         }
     }
 
-    private void processResponse(ResponseEntity<String> response, Map<String, Object> output, Map<String, Object> context) {
-        if (context != null) {
-            output.putAll(context);
-        }
-
-        HttpStatusCode statusCode = response.getStatusCode();
+    private void putResponseMetadata(HttpStatusCode statusCode, HttpHeaders headers, Map<String, Object> output) {
         output.put("http_status_code", statusCode.value());
 
         if (statusCode instanceof HttpStatus httpStatus) {
@@ -275,11 +362,67 @@ public class HttpRequestNodeHandler implements NodeHandler {
             output.put("http_status_text", "UNKNOWN");
         }
 
-        output.put("http_response_body", response.getBody());
-        output.put("http_response_headers", response.getHeaders().toSingleValueMap());
+        output.put("http_response_headers", headers.toSingleValueMap());
         output.put("http_request_successful", statusCode.is2xxSuccessful());
         output.put("node_type", "httpRequest");
         output.put("executed_at", Instant.now().toString());
+    }
+
+    private void processSpilledResponse(ResponseEntity<SpillStore.CapturedBody> response, UUID executionId,
+                                        Map<String, String> extract, Map<String, Object> output) {
+        SpillStore.SpillHandle handle = response.getBody().getHandle();
+        spillStore.bind(handle, executionId);
+        putResponseMetadata(response.getStatusCode(), response.getHeaders(), output);
+
+        output.put("http_response_spill", handle.toMap());
+        output.put("http_response_size", handle.getSize());
+        output.put("http_response_sha256", handle.getSha256());
+
+        if (!extract.isEmpty()) {
+            try (InputStream body = spillStore.open(handle.getUri())) {
+                putExtracted(JsonProjection.compile(extract).extract(objectMapper, body), output);
+            } catch (Exception e) {
+                log.warn("Failed to extract fields from spilled response {}: {}", handle.getUri(), e.getMessage());
+            }
+        }
+
+        log.info("HTTP request completed with status: {}, {} byte body spilled to {}",
+                response.getStatusCode().value(), handle.getSize(), handle.getUri());
+    }
+
+    private void processPaginatedResponse(HttpPaginator.PaginationResult result, UUID executionId,
+                                          Map<String, Object> output) {
+        SpillStore.SpillHandle handle = result.getHandle();
+        spillStore.bind(handle, executionId);
+        putResponseMetadata(result.getLastPage().getStatusCode(), result.getLastPage().getHeaders(), output);
+
+        output.put("http_response_spill", handle.toMap());
+        output.put("http_response_size", handle.getSize());
+        output.put("http_response_sha256", handle.getSha256());
+        output.put("http_pages_fetched", result.getPages());
+        output.put("http_records_count", result.getRecords());
+
+        log.info("Paginated HTTP request fetched {} pages, {} records spilled to {}",
+                result.getPages(), result.getRecords(), handle.getUri());
+    }
+
+    private void processResponse(ResponseEntity<String> response, Map<String, String> extract,
+                                 Map<String, Object> output) {
+        HttpStatusCode statusCode = response.getStatusCode();
+        putResponseMetadata(statusCode, response.getHeaders(), output);
+
+        if (!extract.isEmpty() && response.getBody() != null && !response.getBody().isBlank()) {
+            try {
+                putExtracted(JsonProjection.compile(extract).extract(objectMapper, response.getBody()), output);
+                log.info("HTTP request completed with status: {}, extracted {} fields",
+                        statusCode.value(), extract.size());
+                return;
+            } catch (Exception e) {
+                log.warn("Failed to extract fields from response, keeping full body: {}", e.getMessage());
+            }
+        }
+
+        output.put("http_response_body", response.getBody());
 
 
         if (response.getBody() != null && !response.getBody().trim().isEmpty()) {
@@ -0,0 +1,205 @@
+package com.marcella.backend.nodeHandlers;
+
+import com.marcella.backend.services.ContextReferenceResolver;
+import com.marcella.backend.services.ExecutionEventPublisher;
+import com.marcella.backend.services.WorkflowEventProducer;
+import com.marcella.backend.workflow.NodeCompletionMessage;
+import com.marcella.backend.workflow.NodeExecutionMessage;
+import com.marcella.backend.workflow.WorkflowNode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LocalNodeExecutor {
+
+    private final NodeHandlerRegistry handlerRegistry;
+    private final WorkflowEventProducer eventProducer;
+    private final ContextReferenceResolver contextResolver;
+    private final ExecutionEventPublisher executionEvents;
+
+    @Value("${workflow.local-execution.enabled:false}")
+    private boolean enabled;
+
+    @Value("${workflow.local-execution.node-types:}")
+    private Set<String> localNodeTypes;
+
+    @Value("${workflow.local-execution.threads:4}")
+    private int threads;
+
+    @Value("${workflow.local-execution.queue-capacity:256}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("local-node-"));
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public boolean canExecuteLocally(String nodeType) {
+        return enabled && nodeType != null
+                && (localNodeTypes.isEmpty() ? handlerRegistry.getPureNodeTypes() : localNodeTypes).contains(nodeType);
+    }
+
+    public boolean submit(Runnable task) {
+        try {
+            executor.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.warn("Local execution queue full, falling back to Kafka dispatch");
+            return false;
+        }
+    }
+
+    public NodeCompletionMessage execute(NodeExecutionMessage message) {
+        boolean segment = message.getSegment() != null && !message.getSegment().isEmpty();
+        executionEvents.nodeStarted(message);
+
+        if (segment && contextResolver.isByReference(message)) {
+            message.setGlobalVariables(contextResolver.resolveGlobals(message));
+        }
+        contextResolver.attach(message);
+
+        return segment ? executeSegment(message) : executeNode(message);
+    }
+
+    private NodeCompletionMessage executeSegment(NodeExecutionMessage message) {
+        long startTime = System.currentTimeMillis();
+        Map<String, Map<String, Object>> segmentOutputs = new LinkedHashMap<>();
+        Map<String, Object> context = message.getContext();
+        List<String> dependencies = message.getDependencies();
+        NodeCompletionMessage last = null;
+        String error = null;
+
+        for (WorkflowNode node : message.getSegment()) {
+            NodeExecutionMessage nodeMessage = NodeExecutionMessage.builder()
+                    .executionId(message.getExecutionId())
+                    .workflowId(message.getWorkflowId())
+                    .nodeId(node.getId())
+                    .nodeType(node.getType())
+                    .nodeData(node.getData())
+                    .context(context)
+                    .dependencies(dependencies)
+                    .timestamp(Instant.now())
+                    .priority(message.getPriority())
+                    .googleAccessToken(message.getGoogleAccessToken())
+                    .build();
+
+            last = executeNode(nodeMessage);
+
+            Map<String, Object> output = last.getOutput() != null ? last.getOutput() : Map.of();
+            segmentOutputs.put(node.getId(), output);
+            if ("FAILED".equals(last.getStatus()) && error == null) {
+                error = last.getError();
+            }
+
+            context = context != null ? new HashMap<>(context) : new HashMap<>();
+            context.putAll(output);
+            context.put(node.getId() + "_output", output);
+            if (message.getGlobalVariables() != null) {
+                context.putAll(message.getGlobalVariables());
+            }
+            dependencies = List.of(node.getId());
+        }
+
+        log.info("Fused segment of {} nodes starting at {} executed in {}ms",
+                segmentOutputs.size(), message.getNodeId(), System.currentTimeMillis() - startTime);
+
+        return NodeCompletionMessage.builder()
+                .executionId(message.getExecutionId())
+                .workflowId(message.getWorkflowId())
+                .nodeId(last.getNodeId())
+                .nodeType(last.getNodeType())
+                .status(error == null ? "COMPLETED" : "FAILED")
+                .error(error)
+                .output(last.getOutput())
+                .segmentOutputs(segmentOutputs)
+                .timestamp(Instant.now())
+                .processingTime(System.currentTimeMillis() - startTime)
+                .service("spring")
+                .build();
+    }
+
+    private NodeCompletionMessage executeNode(NodeExecutionMessage message) {
+        long startTime = System.currentTimeMillis();
+        List<NodeCompletionMessage> completions = new ArrayList<>();
+
+        NodeHandler handler = handlerRegistry.findHandler(message.getNodeType()).orElse(null);
+
+        if (handler == null) {
+            return failure(message, "No handler found for node type: " + message.getNodeType(), startTime);
+        }
+
+        try {
+            Map<String, Object> output = eventProducer.interceptCompletions(completions::add,
+                    () -> handler.execute(message));
+
+            log.info("Node executed locally: {} of type: {} in {}ms",
+                    message.getNodeId(), message.getNodeType(), System.currentTimeMillis() - startTime);
+
+            if (!completions.isEmpty()) {
+                return completions.get(completions.size() - 1);
+            }
+
+            return NodeCompletionMessage.builder()
+                    .executionId(message.getExecutionId())
+                    .workflowId(message.getWorkflowId())
+                    .nodeId(message.getNodeId())
+                    .nodeType(message.getNodeType())
+                    .status("COMPLETED")
+                    .output(output)
+                    .timestamp(Instant.now())
+                    .processingTime(System.currentTimeMillis() - startTime)
+                    .service("spring")
+                    .build();
+
+        } catch (Exception e) {
+            log.error("Local node execution failed: {}", message.getNodeId(), e);
+
+            if (!completions.isEmpty()) {
+                return completions.get(completions.size() - 1);
+            }
+            return failure(message, e.getMessage(), startTime);
+        }
+    }
+
+    private NodeCompletionMessage failure(NodeExecutionMessage message, String error, long startTime) {
+        return NodeCompletionMessage.builder()
+                .executionId(message.getExecutionId())
+                .workflowId(message.getWorkflowId())
+                .nodeId(message.getNodeId())
+                .nodeType(message.getNodeType())
+                .status("FAILED")
+                .error(error)
+                .output(Map.of(
+                        "error", String.valueOf(error),
+                        "failed_at", Instant.now().toString(),
+                        "node_type", message.getNodeType()
+                ))
+                .timestamp(Instant.now())
+                .processingTime(System.currentTimeMillis() - startTime)
+                .service("spring")
+                .build();
+    }
+}
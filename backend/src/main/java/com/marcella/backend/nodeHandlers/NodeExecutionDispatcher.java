@@ -0,0 +1,365 @@
+package com.marcella.backend.nodeHandlers;
+
+import com.marcella.backend.workflow.NodeExecutionMessage;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ClassUtils;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NodeExecutionDispatcher {
+
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final NodeHandlerRegistry handlerRegistry;
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+
+    @Value("${workflow.worker.async.enabled:false}")
+    private boolean enabled;
+
+    @Value("${workflow.worker.async.max-in-flight:0}")
+    private int maxInFlight;
+
+    @Value("${workflow.worker.async.max-in-flight-per-partition:64}")
+    private int maxInFlightPerPartition;
+
+    @Value("${workflow.worker.bulkhead.cpu-threads:0}")
+    private int cpuThreads;
+
+    @Value("${workflow.worker.bulkhead.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${workflow.worker.bulkhead.high-priority-reserve:25}")
+    private int highPriorityReserve;
+
+    private static final String PARTITION_LIMIT = "partition-in-flight";
+    private static final String IN_FLIGHT_LIMIT = "in-flight";
+    private static final String CPU_BULKHEAD = "cpu";
+
+    private final Map<TopicPartition, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+    private final Map<TopicPartition, String> partitionListeners = new ConcurrentHashMap<>();
+    private final Map<TopicPartition, String> inFlightPausedPartitions = new ConcurrentHashMap<>();
+    private final Map<TopicPartition, Set<String>> pauseReasons = new HashMap<>();
+    private final AtomicInteger totalInFlight = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final Map<NodeHandler, Bulkhead> bulkheadsByHandler = new HashMap<>();
+    private final List<Bulkhead> bulkheads = new ArrayList<>();
+    private Bulkhead cpuBulkhead;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+
+        cpuBulkhead = createBulkhead(CPU_BULKHEAD,
+                cpuThreads > 0 ? cpuThreads : Runtime.getRuntime().availableProcessors());
+
+        for (NodeHandler handler : handlerRegistry.getNodeHandlers()) {
+            int limit = handler.descriptor().getConcurrencyLimit();
+            if (limit <= 0) {
+                bulkheadsByHandler.put(handler, cpuBulkhead);
+                continue;
+            }
+
+            String name = ClassUtils.getUserClass(handler).getSimpleName().replace("NodeHandler", "");
+            int capacity = environment.getProperty("workflow.worker.bulkhead.limits." + name, Integer.class, limit);
+            bulkheadsByHandler.put(handler, createBulkhead(name, capacity));
+        }
+
+        if (maxInFlight <= 0) {
+            maxInFlight = bulkheads.stream()
+                    .mapToInt(bulkhead -> bulkhead.capacity + queueCapacity + highPriorityReserve)
+                    .sum();
+        }
+        Gauge.builder("workflow.worker.in.flight", totalInFlight, AtomicInteger::get).register(meterRegistry);
+
+        log.info("Async node execution enabled: {} bulkheads, max in flight {}, per partition {}",
+                bulkheads.size(), maxInFlight, maxInFlightPerPartition);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        bulkheads.forEach(bulkhead -> bulkhead.executor.shutdown());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean tryAcquirePermit(String nodeType) {
+        Bulkhead bulkhead = bulkheadFor(nodeType);
+        return bulkhead == null || bulkhead.permits.tryAcquire();
+    }
+
+    public void releasePermit(String nodeType) {
+        Bulkhead bulkhead = bulkheadFor(nodeType);
+        if (bulkhead != null) {
+            bulkhead.permits.release();
+        }
+    }
+
+    private Bulkhead bulkheadFor(String nodeType) {
+        if (!enabled) {
+            return null;
+        }
+        return handlerRegistry.findHandler(nodeType)
+                .map(bulkheadsByHandler::get)
+                .orElse(cpuBulkhead);
+    }
+
+    public void submit(String listenerId, String topic, int partition, String nodeType,
+                       NodeExecutionMessage.Priority priority, Runnable task) {
+        TopicPartition topicPartition = new TopicPartition(topic, partition);
+        AtomicInteger partitionInFlight = inFlight.computeIfAbsent(topicPartition, tp -> new AtomicInteger());
+        partitionListeners.putIfAbsent(topicPartition, listenerId);
+        Bulkhead bulkhead = bulkheadFor(nodeType);
+        boolean high = priority == NodeExecutionMessage.Priority.HIGH;
+
+        int partitionCount = partitionInFlight.incrementAndGet();
+        int total = totalInFlight.incrementAndGet();
+        if (partitionCount >= maxInFlightPerPartition) {
+            pause(listenerId, topicPartition, PARTITION_LIMIT);
+        }
+        if (total >= maxInFlight) {
+            pauseAllPartitions();
+        }
+
+        long queuedAt = System.nanoTime();
+        PrioritizedTask node = new PrioritizedTask(priority, sequence.getAndIncrement(), () -> {
+            bulkhead.permits.acquireUninterruptibly();
+            long startedAt = System.nanoTime();
+            bulkhead.queueWait.record(startedAt - queuedAt, TimeUnit.NANOSECONDS);
+            try {
+                task.run();
+            } finally {
+                bulkhead.permits.release();
+                bulkhead.latency.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                release(topicPartition, partitionInFlight);
+            }
+        });
+
+        startOrDefer(bulkhead, node);
+
+        if (!bulkhead.deferred.isEmpty()
+                || bulkhead.queueDepth() >= queueCapacity + (high ? highPriorityReserve : 0)) {
+            bulkhead.pausedPartitions.put(topicPartition, listenerId);
+            pause(listenerId, topicPartition, bulkhead.name);
+        }
+    }
+
+    // Never blocks the listener thread: a node that finds its bulkhead full waits in the bulkhead's
+    // deferred queue while its partition is paused. Async acks hold the next poll until the current
+    // one is acked, so at most one poll's worth of records is ever deferred.
+    private void startOrDefer(Bulkhead bulkhead, PrioritizedTask node) {
+        synchronized (bulkhead) {
+            bulkhead.deferred.add(node);
+            startDeferred(bulkhead);
+        }
+    }
+
+    private void startDeferred(Bulkhead bulkhead) {
+        synchronized (bulkhead) {
+            PrioritizedTask next;
+            while ((next = bulkhead.deferred.peek()) != null) {
+                Semaphore slot = bulkhead.tryAcquire(next.isHigh());
+                if (slot == null) {
+                    return;
+                }
+                bulkhead.deferred.poll();
+
+                PrioritizedTask node = next;
+                try {
+                    bulkhead.executor.execute(node.wrap(() -> {
+                        try {
+                            node.run();
+                        } finally {
+                            slot.release();
+                            onSlotReleased(bulkhead);
+                        }
+                    }));
+                } catch (RejectedExecutionException e) {
+                    slot.release();
+                    log.error("{} bulkhead rejected node execution", bulkhead.name, e);
+                }
+            }
+        }
+    }
+
+    private void onSlotReleased(Bulkhead bulkhead) {
+        startDeferred(bulkhead);
+
+        if (!bulkhead.pausedPartitions.isEmpty() && bulkhead.deferred.isEmpty()
+                && bulkhead.queueDepth() <= queueCapacity / 2) {
+            resumeAll(bulkhead.pausedPartitions, bulkhead.name);
+        }
+    }
+
+    private void pauseAllPartitions() {
+        partitionListeners.forEach((topicPartition, listenerId) -> {
+            if (inFlightPausedPartitions.putIfAbsent(topicPartition, listenerId) == null) {
+                pause(listenerId, topicPartition, IN_FLIGHT_LIMIT);
+            }
+        });
+    }
+
+    private void release(TopicPartition topicPartition, AtomicInteger partitionInFlight) {
+        int total = totalInFlight.decrementAndGet();
+        if (partitionInFlight.decrementAndGet() <= maxInFlightPerPartition / 2) {
+            resume(partitionListeners.get(topicPartition), topicPartition, PARTITION_LIMIT);
+        }
+
+        if (!inFlightPausedPartitions.isEmpty() && total <= maxInFlight / 2) {
+            resumeAll(inFlightPausedPartitions, IN_FLIGHT_LIMIT);
+        }
+    }
+
+    private void resumeAll(Map<TopicPartition, String> pausedPartitions, String reason) {
+        pausedPartitions.forEach((pausedPartition, pausedListenerId) -> {
+            if (pausedPartitions.remove(pausedPartition, pausedListenerId)) {
+                resume(pausedListenerId, pausedPartition, reason);
+            }
+        });
+    }
+
+    private void pause(String listenerId, TopicPartition topicPartition, String reason) {
+        synchronized (pauseReasons) {
+            Set<String> reasons = pauseReasons.computeIfAbsent(topicPartition, tp -> new HashSet<>());
+            if (!reasons.add(reason) || reasons.size() > 1) {
+                return;
+            }
+
+            MessageListenerContainer container = listenerRegistry.getListenerContainer(listenerId);
+            if (container != null) {
+                log.info("Pausing {}: {} limit reached", topicPartition, reason);
+                container.pausePartition(topicPartition);
+            }
+        }
+    }
+
+    private void resume(String listenerId, TopicPartition topicPartition, String reason) {
+        synchronized (pauseReasons) {
+            Set<String> reasons = pauseReasons.get(topicPartition);
+            if (reasons == null || !reasons.remove(reason) || !reasons.isEmpty()) {
+                return;
+            }
+            pauseReasons.remove(topicPartition);
+
+            MessageListenerContainer container = listenerRegistry.getListenerContainer(listenerId);
+            if (container != null && container.isPartitionPauseRequested(topicPartition)) {
+                log.info("Resuming {}", topicPartition);
+                container.resumePartition(topicPartition);
+            }
+        }
+    }
+
+    private Bulkhead createBulkhead(String name, int capacity) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(capacity, capacity, 60, TimeUnit.SECONDS,
+                new PriorityBlockingQueue<>(), new CustomizableThreadFactory("node-" + name + "-"));
+        executor.allowCoreThreadTimeOut(true);
+
+        Gauge.builder("workflow.worker.bulkhead.queue.depth", executor, pool -> pool.getQueue().size())
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        Gauge.builder("workflow.worker.bulkhead.active", executor, ThreadPoolExecutor::getActiveCount)
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+
+        Bulkhead bulkhead = new Bulkhead(name, capacity, executor,
+                new Semaphore(capacity + queueCapacity), new Semaphore(highPriorityReserve),
+                Timer.builder("workflow.worker.node.latency").tag("bulkhead", name).register(meterRegistry),
+                Timer.builder("workflow.worker.node.queue.wait").tag("bulkhead", name).register(meterRegistry));
+        bulkheads.add(bulkhead);
+        return bulkhead;
+    }
+
+    private static final class Bulkhead {
+        private final String name;
+        private final int capacity;
+        private final ThreadPoolExecutor executor;
+        private final Semaphore slots;
+        private final Semaphore highPrioritySlots;
+        private final Semaphore permits;
+        private final Timer latency;
+        private final Timer queueWait;
+        private final Queue<PrioritizedTask> deferred = new PriorityBlockingQueue<>();
+        private final Map<TopicPartition, String> pausedPartitions = new ConcurrentHashMap<>();
+
+        private Bulkhead(String name, int capacity, ThreadPoolExecutor executor, Semaphore slots,
+                         Semaphore highPrioritySlots, Timer latency, Timer queueWait) {
+            this.name = name;
+            this.capacity = capacity;
+            this.executor = executor;
+            this.slots = slots;
+            this.highPrioritySlots = highPrioritySlots;
+            this.permits = new Semaphore(capacity);
+            this.latency = latency;
+            this.queueWait = queueWait;
+        }
+
+        private Semaphore tryAcquire(boolean high) {
+            if (slots.tryAcquire()) {
+                return slots;
+            }
+            return high && highPrioritySlots.tryAcquire() ? highPrioritySlots : null;
+        }
+
+        private int queueDepth() {
+            return executor.getQueue().size();
+        }
+    }
+
+    private static final class PrioritizedTask implements Runnable, Comparable<PrioritizedTask> {
+        private final int rank;
+        private final long sequence;
+        private final Runnable task;
+
+        private PrioritizedTask(NodeExecutionMessage.Priority priority, long sequence, Runnable task) {
+            this((priority != null ? priority : NodeExecutionMessage.Priority.NORMAL).ordinal(), sequence, task);
+        }
+
+        private PrioritizedTask(int rank, long sequence, Runnable task) {
+            this.rank = rank;
+            this.sequence = sequence;
+            this.task = task;
+        }
+
+        private boolean isHigh() {
+            return rank == NodeExecutionMessage.Priority.HIGH.ordinal();
+        }
+
+        private PrioritizedTask wrap(Runnable wrapped) {
+            return new PrioritizedTask(rank, sequence, wrapped);
+        }
+
+        @Override
+        public void run() {
+            task.run();
+        }
+
+        @Override
+        public int compareTo(PrioritizedTask other) {
+            int byRank = Integer.compare(rank, other.rank);
+            return byRank != 0 ? byRank : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -5,6 +5,11 @@ import com.marcella.backend.workflow.NodeExecutionMessage;
 import java.util.Map;
 
 public interface NodeHandler {
-    boolean canHandle(String nodeType);
+    NodeHandlerDescriptor descriptor();
+
+    default boolean canHandle(String nodeType) {
+        return descriptor().handles(nodeType);
+    }
+
     Map<String, Object> execute(NodeExecutionMessage message) throws Exception;
 }
@@ -0,0 +1,59 @@
+package com.marcella.backend.nodeHandlers;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Set;
+
+@Getter
+@Builder
+public class NodeHandlerDescriptor {
+    public static final String SPRING_TOPIC = "spring-nodes";
+    public static final String FASTAPI_TOPIC = "fastapi-nodes";
+
+    private final Set<String> nodeTypes;
+    @Builder.Default
+    private final String topic = SPRING_TOPIC;
+    @Builder.Default
+    private final CostClass costClass = CostClass.CPU;
+    @Builder.Default
+    private final int concurrencyLimit = 0;
+    @Builder.Default
+    private final Duration timeout = Duration.ofSeconds(30);
+    private final boolean pure;
+
+    public enum CostClass {
+        CPU, IO, REMOTE
+    }
+
+    public boolean handles(String nodeType) {
+        return nodeType != null && nodeTypes.stream().anyMatch(nodeType::equalsIgnoreCase);
+    }
+
+    public boolean isRemote() {
+        return costClass == CostClass.REMOTE;
+    }
+
+    public static NodeHandlerDescriptor cpu(String... nodeTypes) {
+        return NodeHandlerDescriptor.builder()
+                .nodeTypes(Set.of(nodeTypes))
+                .build();
+    }
+
+    public static NodeHandlerDescriptor pure(String... nodeTypes) {
+        return NodeHandlerDescriptor.builder()
+                .nodeTypes(Set.of(nodeTypes))
+                .pure(true)
+                .build();
+    }
+
+    public static NodeHandlerDescriptor io(int concurrencyLimit, Duration timeout, String... nodeTypes) {
+        return NodeHandlerDescriptor.builder()
+                .nodeTypes(Set.of(nodeTypes))
+                .costClass(CostClass.IO)
+                .concurrencyLimit(concurrencyLimit)
+                .timeout(timeout)
+                .build();
+    }
+}
@@ -0,0 +1,117 @@
+package com.marcella.backend.nodeHandlers;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+@Component
+@Slf4j
+public class NodeHandlerRegistry {
+
+    private static final NodeHandlerDescriptor FASTAPI_DESCRIPTOR = NodeHandlerDescriptor.builder()
+            .nodeTypes(Set.of(
+                    "text-generation",
+                    "ai-decision",
+                    "summarization",
+                    "question-answer",
+                    "text-classification",
+                    "named-entity",
+                    "translation",
+                    "content-generation",
+                    "search-agent",
+                    "data-analyst-agent"
+            ))
+            .topic(NodeHandlerDescriptor.FASTAPI_TOPIC)
+            .costClass(NodeHandlerDescriptor.CostClass.REMOTE)
+            .build();
+
+    private final List<NodeHandler> nodeHandlers;
+    private final Map<String, NodeHandler> handlersByType;
+    private final Map<String, NodeHandlerDescriptor> descriptorsByType;
+    private final Set<String> pureNodeTypes;
+
+    public NodeHandlerRegistry(List<NodeHandler> nodeHandlers) {
+        this.nodeHandlers = List.copyOf(nodeHandlers);
+
+        Map<String, NodeHandler> handlers = new HashMap<>();
+        Map<String, NodeHandlerDescriptor> descriptors = new HashMap<>();
+        Set<String> pure = new HashSet<>();
+
+        for (NodeHandler handler : nodeHandlers) {
+            NodeHandlerDescriptor descriptor = handler.descriptor();
+            for (String nodeType : descriptor.getNodeTypes()) {
+                NodeHandler previous = handlers.putIfAbsent(nodeType.toLowerCase(), handler);
+                if (previous != null) {
+                    throw new IllegalStateException("Node type " + nodeType + " is claimed by both "
+                            + previous.getClass().getSimpleName() + " and " + handler.getClass().getSimpleName());
+                }
+                handlers.put(nodeType, handler);
+                descriptors.put(nodeType, descriptor);
+                descriptors.put(nodeType.toLowerCase(), descriptor);
+                if (descriptor.isPure()) {
+                    pure.add(nodeType);
+                }
+            }
+        }
+
+        for (String nodeType : FASTAPI_DESCRIPTOR.getNodeTypes()) {
+            descriptors.put(nodeType, FASTAPI_DESCRIPTOR);
+        }
+
+        this.handlersByType = Map.copyOf(handlers);
+        this.descriptorsByType = Map.copyOf(descriptors);
+        this.pureNodeTypes = Set.copyOf(pure);
+
+        log.info("Registered {} node handlers for {} node types", nodeHandlers.size(), handlers.size());
+    }
+
+    public Optional<NodeHandler> findHandler(String nodeType) {
+        if (nodeType == null) {
+            return Optional.empty();
+        }
+
+        NodeHandler handler = handlersByType.get(nodeType);
+        if (handler == null) {
+            handler = handlersByType.get(nodeType.toLowerCase());
+        }
+        return Optional.ofNullable(handler);
+    }
+
+    public NodeHandlerDescriptor descriptorFor(String nodeType) {
+        if (nodeType == null) {
+            return null;
+        }
+
+        NodeHandlerDescriptor descriptor = descriptorsByType.get(nodeType);
+        if (descriptor == null) {
+            descriptor = descriptorsByType.get(nodeType.toLowerCase());
+        }
+        if (descriptor == null) {
+            descriptor = findHandler(nodeType).map(NodeHandler::descriptor).orElse(null);
+        }
+        return descriptor;
+    }
+
+    public String topicFor(String nodeType) {
+        NodeHandlerDescriptor descriptor = descriptorFor(nodeType);
+        if (descriptor == null) {
+            log.warn("Unknown node type '{}', defaulting to {} topic", nodeType, NodeHandlerDescriptor.SPRING_TOPIC);
+            return NodeHandlerDescriptor.SPRING_TOPIC;
+        }
+        return descriptor.getTopic();
+    }
+
+    public boolean isRemote(String nodeType) {
+        NodeHandlerDescriptor descriptor = descriptorFor(nodeType);
+        return descriptor != null && descriptor.isRemote();
+    }
+
+    public Set<String> getPureNodeTypes() {
+        return pureNodeTypes;
+    }
+
+    public List<NodeHandler> getNodeHandlers() {
+        return nodeHandlers;
+    }
+}
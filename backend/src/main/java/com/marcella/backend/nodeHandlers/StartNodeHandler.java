@@ -26,9 +26,11 @@ public class StartNodeHandler implements NodeHandler {
 
     private static final Duration API_KEY_TTL = Duration.ofHours(1);
 
+    private static final NodeHandlerDescriptor DESCRIPTOR = NodeHandlerDescriptor.cpu("start");
+
     @Override
-    public boolean canHandle(String nodeType) {
-        return "start".equals(nodeType);
+    public NodeHandlerDescriptor descriptor() {
+        return DESCRIPTOR;
     }
 
     @Override
@@ -71,9 +73,6 @@ public class StartNodeHandler implements NodeHandler {
             }
 
             if (message.getContext() != null) {
-                output.putAll(message.getContext());
-
-
                 checkAndStoreOpenAIKey(message.getContext(), message.getExecutionId().toString());
             }
 
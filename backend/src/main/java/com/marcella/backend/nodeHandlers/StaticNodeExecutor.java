@@ -1,9 +1,10 @@
 package com.marcella.backend.nodeHandlers;
 
+import com.marcella.backend.services.ContextReferenceResolver;
+import com.marcella.backend.services.ExecutionEventPublisher;
 import com.marcella.backend.services.WorkflowEventProducer;
 import com.marcella.backend.workflow.NodeCompletionMessage;
 import com.marcella.backend.workflow.NodeExecutionMessage;
-import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
@@ -12,9 +13,7 @@ import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Service;
-import com.marcella.backend.nodeHandlers.NodeHandler;
 import java.time.Instant;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -23,15 +22,35 @@ import java.util.Optional;
 @Slf4j
 public class StaticNodeExecutor {
 
-    private final List<NodeHandler> nodeHandlers;
+    private final NodeHandlerRegistry handlerRegistry;
     private final WorkflowEventProducer eventProducer;
-    @PostConstruct
-    public void printHandlers() {
-        System.out.println( nodeHandlers.stream()
-                .map(h -> h.getClass().getSimpleName())
-                .toList());
+    private final LocalNodeExecutor localNodeExecutor;
+    private final ContextReferenceResolver contextResolver;
+    private final ExecutionEventPublisher executionEvents;
+    private final NodeExecutionDispatcher dispatcher;
+
+    private static final String HIGH_PRIORITY_LISTENER_ID = "spring-nodes-high-executor";
+    private static final String LISTENER_ID = "spring-nodes-executor";
+
+    @KafkaListener(
+            id = HIGH_PRIORITY_LISTENER_ID,
+            idIsGroup = false,
+            topics = "spring-nodes-high",
+            groupId = "spring-node-executor",
+            containerFactory = "nodeExecutionListenerFactory"
+    )
+    public void executeHighPriorityNode(
+            @Payload NodeExecutionMessage message,
+            @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+            @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
+            @Header(KafkaHeaders.OFFSET) long offset,
+            Acknowledgment acknowledgment) {
+        dispatch(HIGH_PRIORITY_LISTENER_ID, message, topic, partition, offset, acknowledgment);
     }
+
     @KafkaListener(
+            id = LISTENER_ID,
+            idIsGroup = false,
             topics = "spring-nodes",
             groupId = "spring-node-executor",
             containerFactory = "nodeExecutionListenerFactory"
@@ -42,7 +61,21 @@ public class StaticNodeExecutor {
             @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
             @Header(KafkaHeaders.OFFSET) long offset,
             Acknowledgment acknowledgment) {
+        dispatch(LISTENER_ID, message, topic, partition, offset, acknowledgment);
+    }
+
+    private void dispatch(String listenerId, NodeExecutionMessage message, String topic, int partition, long offset,
+                          Acknowledgment acknowledgment) {
+        if (dispatcher.isEnabled()) {
+            dispatcher.submit(listenerId, topic, partition, message.getNodeType(), message.getPriority(),
+                    () -> runNode(message, topic, partition, offset, acknowledgment));
+        } else {
+            runNode(message, topic, partition, offset, acknowledgment);
+        }
+    }
 
+    private void runNode(NodeExecutionMessage message, String topic, int partition, long offset,
+                         Acknowledgment acknowledgment) {
         long startTime = System.currentTimeMillis();
         String nodeId = message.getNodeId();
         String nodeType = message.getNodeType();
@@ -51,7 +84,18 @@ public class StaticNodeExecutor {
                 nodeId, nodeType, topic, partition, offset);
 
         try {
-            Optional<NodeHandler> handler = findHandler(nodeType);
+            if (message.getSegment() != null && !message.getSegment().isEmpty()) {
+                eventProducer.publishNodeCompletion(localNodeExecutor.execute(message));
+                log.info("Fused segment completed: {} ({} nodes) in {}ms",
+                        nodeId, message.getSegment().size(), System.currentTimeMillis() - startTime);
+                acknowledgment.acknowledge();
+                return;
+            }
+
+            executionEvents.nodeStarted(message);
+            contextResolver.attach(message);
+
+            Optional<NodeHandler> handler = handlerRegistry.findHandler(nodeType);
 
             if (handler.isEmpty()) {
                 String error = "No handler found for node type: " + nodeType;
@@ -77,12 +121,6 @@ public class StaticNodeExecutor {
         }
     }
 
-    private Optional<NodeHandler> findHandler(String nodeType) {
-        return nodeHandlers.stream()
-                .filter(handler -> handler.canHandle(nodeType))
-                .findFirst();
-    }
-
     private void publishFailureEvent(NodeExecutionMessage message, String error, long startTime) {
         try {
             long processingTime = System.currentTimeMillis() - startTime;
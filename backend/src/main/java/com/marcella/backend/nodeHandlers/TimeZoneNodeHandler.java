@@ -21,9 +21,11 @@ import java.util.Map;
 public class TimeZoneNodeHandler implements NodeHandler{
     private final WorkflowEventProducer eventProducer;
 
+    private static final NodeHandlerDescriptor DESCRIPTOR = NodeHandlerDescriptor.pure("currentTime");
+
     @Override
-    public boolean canHandle(String nodeType) {
-        return "currentTime".equals(nodeType);
+    public NodeHandlerDescriptor descriptor() {
+        return DESCRIPTOR;
     }
 
     @Override
@@ -43,7 +45,6 @@ public class TimeZoneNodeHandler implements NodeHandler{
             log.info("[CurrentTime] node={} → Resolved time: {} in timeZone: {}", message.getNodeId(), formatted, tz);
 
             Map<String, Object> out = new HashMap<>();
-            if (ctx != null) out.putAll(ctx);
             out.put("current_time", formatted);
             out.put("time_zone", tz);
             out.put("node_type", "currentTime");
@@ -56,9 +57,6 @@ public class TimeZoneNodeHandler implements NodeHandler{
             log.error("Calculator node failed: {}", message.getNodeId(), e);
 
             Map<String, Object> errorOutput = new HashMap<>();
-            if (message.getContext() != null) {
-                errorOutput.putAll(message.getContext());
-            }
             errorOutput.put("error", e.getMessage());
             errorOutput.put("expression", message.getNodeData().get("expression"));
             errorOutput.put("result", null);
@@ -19,9 +19,11 @@ public class TransformNodeHandler implements NodeHandler {
 
     private final WorkflowEventProducer eventProducer;
 
+    private static final NodeHandlerDescriptor DESCRIPTOR = NodeHandlerDescriptor.pure("transform");
+
     @Override
-    public boolean canHandle(String nodeType) {
-        return "transform".equals(nodeType);
+    public NodeHandlerDescriptor descriptor() {
+        return DESCRIPTOR;
     }
 
     @Override
@@ -50,10 +52,6 @@ public class TransformNodeHandler implements NodeHandler {
                 }
             }
 
-            if (context != null) {
-                output.putAll(context);
-            }
-
             output.put("transformed_at", Instant.now().toString());
             output.put("node_type", "transform");
             output.put("node_executed_at", Instant.now().toString());
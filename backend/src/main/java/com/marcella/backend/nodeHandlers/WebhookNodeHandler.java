@@ -12,6 +12,7 @@ import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
@@ -22,12 +23,14 @@ import java.util.Map;
 public class WebhookNodeHandler implements NodeHandler {
 
     private final WorkflowEventProducer eventProducer;
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate nodeRestTemplate;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    private static final NodeHandlerDescriptor DESCRIPTOR = NodeHandlerDescriptor.io(32, Duration.ofSeconds(30), "trigger", "webhook");
+
     @Override
-    public boolean canHandle(String nodeType) {
-        return "trigger".equals(nodeType) || "webhook".equals(nodeType);
+    public NodeHandlerDescriptor descriptor() {
+        return DESCRIPTOR;
     }
 
     @Override
@@ -50,10 +53,6 @@ public class WebhookNodeHandler implements NodeHandler {
             Map<String, Object> payload = processPayload(nodeData.get("payload"), context);
 
             Map<String, Object> output = new HashMap<>();
-            if (context != null) {
-                output.putAll(context);
-            }
-
             if (url != null && !url.trim().isEmpty()) {
                 try {
                     ResponseEntity<String> response = makeHttpRequest(url, method, headers, payload);
@@ -108,9 +107,6 @@ public class WebhookNodeHandler implements NodeHandler {
             log.error("Webhook node failed: {}", message.getNodeId(), e);
 
             Map<String, Object> errorOutput = new HashMap<>();
-            if (message.getContext() != null) {
-                errorOutput.putAll(message.getContext());
-            }
             errorOutput.put("error", e.getMessage());
             errorOutput.put("webhook_called", false);
             errorOutput.put("failed_at", Instant.now().toString());
@@ -212,7 +208,7 @@ public class WebhookNodeHandler implements NodeHandler {
                 ? new HttpEntity<>(payload, httpHeaders)
                 : new HttpEntity<>(httpHeaders);
 
-        return restTemplate.exchange(
+        return nodeRestTemplate.exchange(
                 url,
                 HttpMethod.valueOf(method.toUpperCase()),
                 entity,
@@ -0,0 +1,151 @@
+package com.marcella.backend.services;
+
+import com.marcella.backend.workflow.NodeExecutionMessage;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ContextReferenceResolver {
+
+    private final ExecutionContextService contextService;
+
+    @Value("${workflow.context.worker-cache.max-executions:64}")
+    private int maxCachedExecutions;
+
+    private Map<UUID, CachedExecution> executions;
+
+    @PostConstruct
+    public void init() {
+        executions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, CachedExecution> eldest) {
+                return size() > maxCachedExecutions;
+            }
+        };
+    }
+
+    public boolean isByReference(NodeExecutionMessage message) {
+        return message.getContext() == null && message.getContextVersion() != null;
+    }
+
+    public void attach(NodeExecutionMessage message) {
+        if (isByReference(message)) {
+            message.setContext(new LazyNodeContext(message));
+        }
+    }
+
+    public Map<String, Object> resolveGlobals(NodeExecutionMessage message) {
+        CachedExecution execution = cached(message.getExecutionId());
+        long version = message.getContextVersion() != null ? message.getContextVersion() : 0L;
+
+        synchronized (execution) {
+            if (execution.globals == null || execution.globalsVersion != version) {
+                execution.globals = Collections.unmodifiableMap(contextService.getGlobalVariables(message.getExecutionId()));
+                execution.globalsVersion = version;
+            }
+            return execution.globals;
+        }
+    }
+
+    private Map<String, Object> compose(NodeExecutionMessage message) {
+        List<String> ancestors = message.getAncestors() != null ? message.getAncestors() : List.of();
+        List<String> dependencies = message.getDependencies() != null ? message.getDependencies() : List.of();
+
+        Set<String> nodeIds = new LinkedHashSet<>(ancestors);
+        nodeIds.addAll(dependencies);
+
+        return ExecutionContextService.composeNodeContext(ancestors, dependencies,
+                resolveOutputs(message.getExecutionId(), nodeIds), resolveGlobals(message));
+    }
+
+    private Map<String, Map<String, Object>> resolveOutputs(UUID executionId, Collection<String> nodeIds) {
+        CachedExecution execution = cached(executionId);
+
+        List<String> missing = nodeIds.stream()
+                .filter(nodeId -> !execution.outputs.containsKey(nodeId))
+                .toList();
+        if (!missing.isEmpty()) {
+            execution.outputs.putAll(contextService.getNodeOutputs(executionId, missing));
+            log.debug("Fetched {} node outputs for execution: {}", missing.size(), executionId);
+        }
+
+        Map<String, Map<String, Object>> outputs = new HashMap<>();
+        nodeIds.forEach(nodeId -> {
+            Map<String, Object> output = execution.outputs.get(nodeId);
+            if (output != null) {
+                outputs.put(nodeId, output);
+            }
+        });
+        return outputs;
+    }
+
+    private CachedExecution cached(UUID executionId) {
+        synchronized (executions) {
+            return executions.computeIfAbsent(executionId, id -> new CachedExecution());
+        }
+    }
+
+    private static class CachedExecution {
+        private final Map<String, Map<String, Object>> outputs = new ConcurrentHashMap<>();
+        private Map<String, Object> globals;
+        private long globalsVersion;
+    }
+
+    private class LazyNodeContext extends AbstractMap<String, Object> {
+        private final NodeExecutionMessage message;
+        private Map<String, Object> resolved;
+
+        private LazyNodeContext(NodeExecutionMessage message) {
+            this.message = message;
+        }
+
+        private Map<String, Object> resolved() {
+            if (resolved == null) {
+                resolved = compose(message);
+            }
+            return resolved;
+        }
+
+        @Override
+        public Object get(Object key) {
+            if (resolved == null) {
+                Map<String, Object> globals = resolveGlobals(message);
+                if (globals.containsKey(key)) {
+                    return globals.get(key);
+                }
+            }
+            return resolved().get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            if (resolved == null && resolveGlobals(message).containsKey(key)) {
+                return true;
+            }
+            return resolved().containsKey(key);
+        }
+
+        @Override
+        public Object put(String key, Object value) {
+            return resolved().put(key, value);
+        }
+
+        @Override
+        public Object remove(Object key) {
+            return resolved().remove(key);
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return resolved().entrySet();
+        }
+    }
+}
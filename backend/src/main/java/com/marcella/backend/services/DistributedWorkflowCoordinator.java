@@ -2,18 +2,17 @@ package com.marcella.backend.services;
 
 import com.marcella.backend.entities.Execution;
 import com.marcella.backend.entities.Workflows;
+import com.marcella.backend.nodeHandlers.LocalNodeExecutor;
 import com.marcella.backend.repositories.ExecutionRepository;
 import com.marcella.backend.repositories.WorkflowRepository;
 import com.marcella.backend.workflow.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.util.*;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -24,16 +23,26 @@ public class DistributedWorkflowCoordinator {
     private final KahnAlgoService kahnService;
     private final WorkflowEventProducer eventProducer;
     private final ExecutionService executionService;
-    private final WorkflowDefinitionParser workflowDefinitionParser;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final WorkflowPlanCache workflowPlanCache;
     private final ExecutionRepository executionRepository;
     private final ReturnHandlerService returnHandler;
-    private void initializeExecutionContext(UUID executionId, WorkflowDefinition workflowDef,
+    private final LocalNodeExecutor localNodeExecutor;
+    private final NodeLatencyTracker latencyTracker;
+    private final ExecutionEventPublisher executionEvents;
+
+    @Value("${workflow.context.by-reference:false}")
+    private boolean contextByReference;
+
+    private final ThreadLocal<Deque<NodeExecutionMessage>> localExecutionQueue = ThreadLocal.withInitial(ArrayDeque::new);
+    private final ThreadLocal<Boolean> drainingLocalQueue = ThreadLocal.withInitial(() -> false);
+
+    private void initializeExecutionContext(UUID executionId, CompiledWorkflowPlan plan,
                                             Map<String, Object> payload) {
 
         ExecutionContext context = ExecutionContext.builder()
                 .executionId(executionId)
-                .workflowId(workflowDef.getId())
+                .workflowId(plan.getWorkflowId())
+                .workflowVersion(plan.getVersion())
                 .status(ExecutionContext.ExecutionStatus.RUNNING)
                 .startTime(Instant.now())
                 .globalVariables(new HashMap<>())
@@ -54,8 +63,8 @@ public class DistributedWorkflowCoordinator {
         }
 
         context.getGlobalVariables().put("execution_id", executionId.toString());
-        context.getGlobalVariables().put("workflow_id", workflowDef.getId().toString());
-        context.getGlobalVariables().put("workflow_name", workflowDef.getName());
+        context.getGlobalVariables().put("workflow_id", plan.getWorkflowId().toString());
+        context.getGlobalVariables().put("workflow_name", plan.getName());
         context.getGlobalVariables().put("execution_started_at", Instant.now().toString());
 
         contextService.storeContext(executionId, context);
@@ -75,19 +84,18 @@ public class DistributedWorkflowCoordinator {
         UUID executionId = execution.getId();
 
         try {
-            WorkflowDefinition workflowDef = workflowDefinitionParser.parseWorkflowDefinition(workflow);
+            CompiledWorkflowPlan plan = workflowPlanCache.getPlan(workflow);
 
             if (returnVariables != null && !returnVariables.isEmpty()) {
                 returnHandler.storeReturnVariables(executionId, returnVariables);
                 log.info("📋 Stored {} return variables for execution: {}", returnVariables.size(), executionId);
             }
 
-            initializeExecutionContext(executionId, workflowDef, payload);
+            initializeExecutionContext(executionId, plan, payload);
 
-            DependencyGraph dependencyGraph = kahnService.buildDependencyGraph(workflowDef);
-            contextService.storeDependencyGraph(executionId, dependencyGraph);
+            kahnService.initializeExecutionState(executionId, plan);
 
-            List<String> readyNodes = kahnService.getInitialReadyNodes(dependencyGraph);
+            List<String> readyNodes = plan.getInitialReadyNodes();
 
             if (readyNodes.isEmpty()) {
                 throw new RuntimeException("No ready nodes found - workflow may have circular dependencies");
@@ -95,7 +103,7 @@ public class DistributedWorkflowCoordinator {
 
             contextService.addReadyNodes(executionId, readyNodes);
 
-            routeNodesToServices(executionId, readyNodes, workflowDef);
+            routeNodesToServices(executionId, readyNodes, plan, false);
 
             log.info("Workflow execution started successfully: {} with {} initial ready nodes",
                     executionId, readyNodes.size());
@@ -141,23 +149,19 @@ public class DistributedWorkflowCoordinator {
         UUID executionId = execution.getId();
 
         try {
-            WorkflowDefinition workflowDef = workflowDefinitionParser.parseWorkflowDefinition(workflow);
+            CompiledWorkflowPlan plan = workflowPlanCache.getPlan(workflow);
 
-            boolean nodeExists = workflowDef.getNodes().stream()
-                    .anyMatch(node -> node.getId().equals(nodeId));
-
-            if (!nodeExists) {
+            if (!plan.containsNode(nodeId)) {
                 throw new RuntimeException("Target node not found in workflow: " + nodeId);
             }
 
-            initializeExecutionContext(executionId, workflowDef, payload);
+            initializeExecutionContext(executionId, plan, payload);
 
-            DependencyGraph dependencyGraph = kahnService.buildDependencyGraph(workflowDef);
-            contextService.storeDependencyGraph(executionId, dependencyGraph);
+            kahnService.initializeExecutionState(executionId, plan);
 
             contextService.addReadyNodes(executionId, List.of(nodeId));
 
-            routeNodesToServices(executionId, List.of(nodeId), workflowDef);
+            routeNodesToServices(executionId, List.of(nodeId), plan, false);
 
             log.info("Started new workflow execution: {} at node: {}", executionId, nodeId);
 
@@ -189,108 +193,161 @@ public class DistributedWorkflowCoordinator {
     private void resumeExistingExecution(UUID executionId, String nodeId, Map<String, Object> payload) {
         log.info("Resuming existing execution: {} at node: {}", executionId, nodeId);
 
-        ExecutionContext context = contextService.getContext(executionId);
+        ExecutionContext context = contextService.getContextMetadata(executionId);
         if (context == null) {
             throw new RuntimeException("Execution context not found: " + executionId);
         }
 
         if (payload != null && !payload.isEmpty()) {
-            context.getGlobalVariables().putAll(payload);
-            context.getGlobalVariables().put("webhook_resumed_at", Instant.now().toString());
-            context.getGlobalVariables().put("webhook_resume_node", nodeId);
-            contextService.updateContext(executionId, context);
+            Map<String, Object> variables = new HashMap<>(payload);
+            variables.put("webhook_resumed_at", Instant.now().toString());
+            variables.put("webhook_resume_node", nodeId);
+            contextService.updateGlobalVariables(executionId, variables);
+
+            context.setContextVersion(context.getContextVersion() != null ? context.getContextVersion() + 1 : 1L);
+            contextService.storeContext(executionId, context);
             log.info("Updated execution context with {} new payload variables", payload.size());
         }
 
-        Workflows workflow = workflowRepository.findById(context.getWorkflowId())
-                .orElseThrow(() -> new RuntimeException("Workflow not found: " + context.getWorkflowId()));
+        CompiledWorkflowPlan plan = workflowPlanCache.getPlan(context.getWorkflowId(), context.getWorkflowVersion());
 
-        WorkflowDefinition workflowDef = workflowDefinitionParser.parseWorkflowDefinition(workflow);
-
-        boolean nodeExists = workflowDef.getNodes().stream()
-                .anyMatch(node -> node.getId().equals(nodeId));
-
-        if (!nodeExists) {
+        if (!plan.containsNode(nodeId)) {
             throw new RuntimeException("Node not found in workflow: " + nodeId);
         }
 
         contextService.addReadyNodes(executionId, List.of(nodeId));
 
-        routeNodesToServices(executionId, List.of(nodeId), workflowDef);
+        routeNodesToServices(executionId, List.of(nodeId), plan, false);
 
         log.info("Successfully resumed execution at node: {}", nodeId);
     }
 
-    private void routeNodesToServices(UUID executionId, List<String> nodeIds, WorkflowDefinition workflow) {
-        Map<String, WorkflowNode> nodeMap = workflow.getNodes().stream()
-                .collect(Collectors.toMap(WorkflowNode::getId, Function.identity()));
+    private void routeNodesToServices(UUID executionId, List<String> nodeIds, CompiledWorkflowPlan plan,
+                                      boolean drainInline) {
+        boolean embedContext = !contextByReference || nodeIds.stream()
+                .map(plan::getNode)
+                .filter(Objects::nonNull)
+                .anyMatch(node -> eventProducer.isFastApiNodeType(node.getType()));
+
+        ExecutionContext context;
+        if (!embedContext) {
+            context = contextService.getContextMetadata(executionId);
+        } else {
+            Set<String> ancestorIds = new LinkedHashSet<>();
+            nodeIds.forEach(nodeId -> ancestorIds.addAll(plan.getAncestors(nodeId)));
+            context = contextService.getContextForNodes(executionId, ancestorIds);
+        }
+        if (context == null) {
+            throw new RuntimeException("Execution context not found: " + executionId);
+        }
+
+        List<String> orderedNodeIds = new ArrayList<>(nodeIds);
+        orderedNodeIds.sort(Comparator.comparingDouble(plan::getCriticalPathLength).reversed());
 
-        for (String nodeId : nodeIds) {
-            WorkflowNode node = nodeMap.get(nodeId);
-            if (node != null) {
-                routeNodeToService(executionId, workflow.getId(), node);
+        try {
+            for (String nodeId : orderedNodeIds) {
+                WorkflowNode node = plan.getNode(nodeId);
+                if (node != null) {
+                    routeNodeToService(executionId, plan, node, context);
+                }
+            }
+        } catch (RuntimeException e) {
+            if (!drainingLocalQueue.get()) {
+                localExecutionQueue.get().clear();
             }
+            throw e;
+        }
+
+        if (drainInline) {
+            drainLocalExecutionQueue();
+        } else {
+            handOffLocalExecutionQueue();
         }
     }
 
-    private void routeNodeToService(UUID executionId, UUID workflowId, WorkflowNode node) {
-        ExecutionContext context = contextService.getContext(executionId);
+    private void handOffLocalExecutionQueue() {
+        Deque<NodeExecutionMessage> queue = localExecutionQueue.get();
+        NodeExecutionMessage message;
+        while ((message = queue.poll()) != null) {
+            NodeExecutionMessage local = message;
+            boolean accepted = localNodeExecutor.submit(() -> {
+                try {
+                    handleNodeCompletion(localNodeExecutor.execute(local));
+                } catch (Exception e) {
+                    log.error("Local execution failed for node: {} in execution: {}",
+                            local.getNodeId(), local.getExecutionId(), e);
+                }
+            });
+            if (!accepted) {
+                eventProducer.publishNodeExecution(local);
+            }
+        }
+    }
 
-        Map<String, Object> nodeContext = buildNodeContext(executionId, node.getId(), context);
+    private void drainLocalExecutionQueue() {
+        if (drainingLocalQueue.get()) {
+            return;
+        }
 
-        String googleToken = null;
-        if (nodeContext.containsKey("googleAccessToken")) {
-            Object tokenObj = nodeContext.get("googleAccessToken");
-            if (tokenObj instanceof String) {
-                googleToken = (String) tokenObj;
+        drainingLocalQueue.set(true);
+        try {
+            Deque<NodeExecutionMessage> queue = localExecutionQueue.get();
+            NodeExecutionMessage message;
+            while ((message = queue.poll()) != null) {
+                handleNodeCompletion(localNodeExecutor.execute(message));
             }
+        } finally {
+            localExecutionQueue.get().clear();
+            drainingLocalQueue.set(false);
         }
+    }
+
+    private void routeNodeToService(UUID executionId, CompiledWorkflowPlan plan, WorkflowNode node,
+                                    ExecutionContext context) {
+        List<String> dependencies = plan.getDependencies(node.getId());
+
         NodeExecutionMessage message = NodeExecutionMessage.builder()
                 .executionId(executionId)
-                .workflowId(workflowId)
+                .workflowId(plan.getWorkflowId())
+                .workflowVersion(plan.getVersion())
                 .nodeId(node.getId())
                 .nodeType(node.getType())
                 .nodeData(node.getData())
-                .context(nodeContext)
-                .dependencies(getDependencies(executionId, node.getId()))
+                .dependencies(dependencies)
                 .timestamp(Instant.now())
-                .googleAccessToken(googleToken)
-                .priority(NodeExecutionMessage.Priority.NORMAL)
+                .priority(plan.getPriority(node.getId()))
                 .build();
 
-        eventProducer.publishNodeExecution(message);
-    }
-
-    private Map<String, Object> buildNodeContext(UUID executionId, String nodeId, ExecutionContext context) {
-        Map<String, Object> nodeContext = new HashMap<>();
-
-        List<String> dependencies = getDependencies(executionId, nodeId);
-
-        for (String depNodeId : dependencies) {
-            Map<String, Object> depOutput = context.getNodeOutputs().get(depNodeId);
-            if (depOutput != null) {
-                nodeContext.putAll(depOutput);
+        boolean byReference = contextByReference && !eventProducer.isFastApiNodeType(node.getType());
+        if (byReference) {
+            message.setContextVersion(context.getContextVersion() != null ? context.getContextVersion() : 0L);
+            message.setAncestors(plan.getAncestors(node.getId()));
+        } else {
+            Map<String, Object> nodeContext = ExecutionContextService.composeNodeContext(
+                    plan.getAncestors(node.getId()), dependencies, context.getNodeOutputs(), context.getGlobalVariables());
 
-                nodeContext.put(depNodeId + "_output", depOutput);
+            if (nodeContext.get("googleAccessToken") instanceof String googleToken) {
+                message.setGoogleAccessToken(googleToken);
             }
+            message.setContext(nodeContext);
         }
 
-        if (context.getGlobalVariables() != null) {
-            nodeContext.putAll(context.getGlobalVariables());
+        List<WorkflowNode> segment = plan.getFusedSegment(node.getId());
+        if (segment != null) {
+            message.setSegment(segment);
+            if (!byReference) {
+                message.setGlobalVariables(context.getGlobalVariables());
+            }
         }
 
-        return nodeContext;
-    }
-
-    private List<String> getDependencies(UUID executionId, String nodeId) {
-        String dependencyKey = "execution:dependencies:" + executionId;
-        DependencyGraph graph = (DependencyGraph) redisTemplate.opsForValue().get(dependencyKey);
+        executionEvents.nodeDispatched(message);
 
-        if (graph != null) {
-            return graph.getIncomingEdges().getOrDefault(nodeId, new ArrayList<>());
+        if (localNodeExecutor.canExecuteLocally(node.getType())) {
+            localExecutionQueue.get().add(message);
+            return;
         }
 
-        return new ArrayList<>();
+        eventProducer.publishNodeExecution(message);
     }
 
     public void handleNodeCompletion(NodeCompletionMessage completionMessage) {
@@ -299,33 +356,47 @@ public class DistributedWorkflowCoordinator {
 
         log.info("Processing completion for node: {} in execution: {}", completedNodeId, executionId);
 
+        recordLatency(completionMessage);
+
         try {
-            if (completionMessage.getOutput() != null && !completionMessage.getOutput().isEmpty()) {
-                contextService.updateNodeOutput(executionId, completedNodeId, completionMessage.getOutput());
+            ExecutionContext context = contextService.getContextMetadata(executionId);
+            if (context == null) {
+                throw new RuntimeException("Execution context not found: " + executionId);
+            }
+            CompiledWorkflowPlan plan = workflowPlanCache.getPlan(
+                    context.getWorkflowId(), context.getWorkflowVersion());
 
+            if (completionMessage.getOutput() != null && !completionMessage.getOutput().isEmpty()) {
                 trackReturnVariablesFromOutput(executionId, completionMessage.getOutput());
+            }
 
-                log.info("Updated context with output from node: {}", completedNodeId);
+            NodeCompletionResult result = kahnService.processNodeCompletion(completionMessage,
+                    plan.resolveSuccessors(completionMessage));
+
+            if (result.isDuplicate()) {
+                log.info("Ignoring duplicate completion for node: {} in execution: {}", completedNodeId, executionId);
+                return;
+            }
+
+            executionEvents.nodeFinished(completionMessage);
+
+            if (!result.getSkippedNodes().isEmpty()) {
+                log.info("Skipped nodes on untaken branches after {}: {}", completedNodeId, result.getSkippedNodes());
+                executionEvents.nodesSkipped(executionId, result.getSkippedNodes());
             }
 
-            List<String> newlyReadyNodes = kahnService.processNodeCompletion(executionId, completedNodeId);
+            List<String> newlyReadyNodes = result.getReadyNodes();
 
             if (!newlyReadyNodes.isEmpty()) {
                 log.info("Ready nodes after completion: {}", newlyReadyNodes);
 
                 contextService.addReadyNodes(executionId, newlyReadyNodes);
 
-                ExecutionContext context = contextService.getContext(executionId);
-                Workflows workflow = workflowRepository.findById(context.getWorkflowId())
-                        .orElseThrow(() -> new RuntimeException("Workflow not found"));
-
-                WorkflowDefinition workflowDef = workflowDefinitionParser.parseWorkflowDefinition(workflow);
-
-                routeNodesToServices(executionId, newlyReadyNodes, workflowDef);
+                routeNodesToServices(executionId, newlyReadyNodes, plan, true);
             } else {
                 log.info("No new ready nodes after completing: {}", completedNodeId);
 
-                if (kahnService.isWorkflowComplete(executionId)) {
+                if (result.isWorkflowComplete()) {
                     completeWorkflowExecution(executionId);
                 }
             }
@@ -333,14 +404,116 @@ public class DistributedWorkflowCoordinator {
         } catch (Exception e) {
             log.error("Failed to process node completion: {} for execution: {}", completedNodeId, executionId, e);
 
-            Execution execution = executionRepository.findById(executionId)
-                    .orElse(null);
-            if (execution != null) {
-                executionService.failExecution(execution, "Node completion processing failed: " + e.getMessage());
+            failExecutionAfterCompletionError(executionId, e.getMessage());
+        }
+    }
 
-                returnHandler.clearReturnVariables(executionId);
+    public void handleNodeCompletions(List<NodeCompletionMessage> completionMessages) {
+        Map<UUID, List<NodeCompletionMessage>> completionsByExecution = new LinkedHashMap<>();
+        completionMessages.forEach(message -> completionsByExecution
+                .computeIfAbsent(message.getExecutionId(), id -> new ArrayList<>())
+                .add(message));
+
+        log.info("Processing {} node completions across {} executions",
+                completionMessages.size(), completionsByExecution.size());
+
+        completionMessages.forEach(this::recordLatency);
+
+        Map<UUID, ExecutionContext> contexts = contextService.getContextMetadata(completionsByExecution.keySet());
+        Map<UUID, CompiledWorkflowPlan> plans = new HashMap<>();
+        Map<NodeCompletionMessage, SuccessorResolution> successors = new IdentityHashMap<>();
+        List<NodeCompletionMessage> processable = new ArrayList<>();
+
+        completionsByExecution.forEach((executionId, messages) -> {
+            try {
+                ExecutionContext context = contexts.get(executionId);
+                if (context == null) {
+                    throw new RuntimeException("Execution context not found: " + executionId);
+                }
+                CompiledWorkflowPlan plan = workflowPlanCache.getPlan(context.getWorkflowId(), context.getWorkflowVersion());
+                for (NodeCompletionMessage message : messages) {
+                    successors.put(message, plan.resolveSuccessors(message));
+                }
+                plans.put(executionId, plan);
+                processable.addAll(messages);
+            } catch (Exception e) {
+                log.error("Failed to resolve successors for {} completions in execution: {}",
+                        messages.size(), executionId, e);
+                failExecutionAfterCompletionError(executionId, e.getMessage());
+            }
+        });
+
+        List<NodeCompletionResult> results = kahnService.processNodeCompletions(processable, successors::get);
+
+        Map<UUID, List<String>> readyByExecution = new LinkedHashMap<>();
+        Set<UUID> completedExecutions = new LinkedHashSet<>();
+        Set<UUID> failedExecutions = new HashSet<>();
+
+        for (int i = 0; i < processable.size(); i++) {
+            NodeCompletionMessage message = processable.get(i);
+            NodeCompletionResult result = results.get(i);
+            UUID executionId = message.getExecutionId();
+
+            if (result == null) {
+                if (failedExecutions.add(executionId)) {
+                    failExecutionAfterCompletionError(executionId,
+                            "Completion state update failed for node: " + message.getNodeId());
+                }
+                continue;
+            }
+
+            if (result.isDuplicate()) {
+                log.info("Ignoring duplicate completion for node: {} in execution: {}", message.getNodeId(), executionId);
+                continue;
+            }
+
+            executionEvents.nodeFinished(message);
+            if (!result.getSkippedNodes().isEmpty()) {
+                executionEvents.nodesSkipped(executionId, result.getSkippedNodes());
+            }
+
+            readyByExecution.computeIfAbsent(executionId, id -> new ArrayList<>()).addAll(result.getReadyNodes());
+            if (result.isWorkflowComplete()) {
+                completedExecutions.add(executionId);
             }
         }
+
+        readyByExecution.forEach((executionId, readyNodes) -> {
+            if (readyNodes.isEmpty() || failedExecutions.contains(executionId)) {
+                return;
+            }
+            try {
+                log.info("Ready nodes after batch for execution {}: {}", executionId, readyNodes);
+                contextService.addReadyNodes(executionId, readyNodes);
+                routeNodesToServices(executionId, readyNodes, plans.get(executionId), true);
+            } catch (Exception e) {
+                log.error("Failed to route ready nodes for execution: {}", executionId, e);
+                failedExecutions.add(executionId);
+                failExecutionAfterCompletionError(executionId, e.getMessage());
+            }
+        });
+
+        completedExecutions.stream()
+                .filter(executionId -> !failedExecutions.contains(executionId))
+                .forEach(this::completeWorkflowExecution);
+
+        eventProducer.flush();
+    }
+
+    private void recordLatency(NodeCompletionMessage completionMessage) {
+        if (completionMessage.getSegmentOutputs() == null || completionMessage.getSegmentOutputs().isEmpty()) {
+            latencyTracker.record(completionMessage.getNodeType(), completionMessage.getProcessingTime());
+        }
+    }
+
+    private void failExecutionAfterCompletionError(UUID executionId, String reason) {
+        Execution execution = executionRepository.findById(executionId)
+                .orElse(null);
+        if (execution != null) {
+            executionService.failExecution(execution, "Node completion processing failed: " + reason);
+
+            returnHandler.clearReturnVariables(executionId);
+        }
     }
 
     private void completeWorkflowExecution(UUID executionId) {
@@ -350,8 +523,6 @@ public class DistributedWorkflowCoordinator {
             Execution execution = executionRepository.findById(executionId)
                     .orElseThrow(() -> new RuntimeException("Execution not found: " + executionId));
 
-            ExecutionContext context = contextService.getContext(executionId);
-
             Map<String, Object> finalOutput;
             List<String> returnVariables = returnHandler.getReturnVariables(executionId);
 
@@ -0,0 +1,99 @@
+package com.marcella.backend.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExecutionCompletionNotifier {
+
+    @Qualifier("customStringRedisTemplate")
+    @Autowired
+    private RedisTemplate<String, String> customStringRedisTemplate;
+
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @Value("${workflow.sync.result-threads:4}")
+    private int resultThreads;
+
+    @Value("${workflow.sync.result-queue-capacity:1000}")
+    private int resultQueueCapacity;
+
+    private static final String FINISHED_CHANNEL = "execution:finished";
+
+    private final Map<UUID, Set<CompletableFuture<Void>>> waiters = new ConcurrentHashMap<>();
+
+    @Getter
+    private ThreadPoolExecutor resultExecutor;
+
+    @PostConstruct
+    public void init() {
+        resultExecutor = new ThreadPoolExecutor(resultThreads, resultThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(resultQueueCapacity), new CustomizableThreadFactory("sync-result-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        resultExecutor.allowCoreThreadTimeOut(true);
+
+        redisMessageListenerContainer.addMessageListener((message, pattern) -> {
+            String executionId = new String(message.getBody(), StandardCharsets.UTF_8);
+            notifyLocal(UUID.fromString(executionId));
+        }, new ChannelTopic(FINISHED_CHANNEL));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        resultExecutor.shutdown();
+    }
+
+    public CompletableFuture<Void> awaitFinished(UUID executionId) {
+        CompletableFuture<Void> finished = new CompletableFuture<>();
+        waiters.computeIfAbsent(executionId, id -> ConcurrentHashMap.newKeySet()).add(finished);
+        return finished;
+    }
+
+    public void cancel(UUID executionId, CompletableFuture<Void> finished) {
+        waiters.computeIfPresent(executionId, (id, futures) -> {
+            futures.remove(finished);
+            return futures.isEmpty() ? null : futures;
+        });
+    }
+
+    public void publishFinished(UUID executionId) {
+        try {
+            customStringRedisTemplate.convertAndSend(FINISHED_CHANNEL, executionId.toString());
+        } catch (Exception e) {
+            log.warn("Failed to publish finish notification for execution: {}, notifying local waiters only",
+                    executionId, e);
+            notifyLocal(executionId);
+        }
+    }
+
+    private void notifyLocal(UUID executionId) {
+        Set<CompletableFuture<Void>> futures = waiters.remove(executionId);
+        if (futures != null) {
+            log.debug("Notifying {} waiters of finished execution: {}", futures.size(), executionId);
+            futures.forEach(future -> future.complete(null));
+        }
+    }
+}
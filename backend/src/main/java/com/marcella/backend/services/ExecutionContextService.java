@@ -5,15 +5,15 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.UUID;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
@@ -28,56 +28,194 @@ public class ExecutionContextService {
     private final KahnAlgoService kahnAlgoService;
 
     private static final String CONTEXT_KEY = "execution:context:";
-    private static final String DEPENDENCY_KEY = "execution:dependencies:";
+    private static final String NODE_OUTPUTS_KEY = "execution:outputs:";
+    private static final String GLOBALS_KEY = "execution:globals:";
     private static final String READY_NODES_KEY = "execution:ready:";
     private static final Duration DEFAULT_EXPIRATION = Duration.ofHours(24);
 
+    public static String nodeOutputsKey(UUID executionId) {
+        return NODE_OUTPUTS_KEY + executionId;
+    }
+
     public ExecutionContext getContext(UUID executionId) {
+        ExecutionContext context = getContextMetadata(executionId);
+
+        if (context != null) {
+            Map<Object, Object> globals = redisTemplate.opsForHash().entries(GLOBALS_KEY + executionId);
+            globals.forEach((name, value) -> context.getGlobalVariables().put((String) name, value));
+
+            Map<Object, Object> outputs = redisTemplate.opsForHash().entries(nodeOutputsKey(executionId));
+            outputs.forEach((nodeId, output) ->
+                    context.getNodeOutputs().put((String) nodeId, (Map<String, Object>) output));
+        }
+
+        return context;
+    }
+
+    public ExecutionContext getContextMetadata(UUID executionId) {
         return (ExecutionContext) redisTemplate.opsForValue().get(CONTEXT_KEY + executionId);
     }
 
+    @SuppressWarnings("unchecked")
+    public ExecutionContext getContextForNodes(UUID executionId, Collection<String> dependencyIds) {
+        ExecutionContext context = getContextMetadata(executionId);
+        if (context == null) {
+            return null;
+        }
+
+        List<String> nodeIds = new ArrayList<>(new LinkedHashSet<>(dependencyIds));
+        byte[] globalsKey = bytes(GLOBALS_KEY + executionId);
+        byte[] outputsKey = bytes(nodeOutputsKey(executionId));
+        byte[][] fields = nodeIds.stream().map(ExecutionContextService::bytes).toArray(byte[][]::new);
+
+        List<Object> replies = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.hashCommands().hGetAll(globalsKey);
+            if (fields.length > 0) {
+                connection.hashCommands().hMGet(outputsKey, fields);
+            }
+            return null;
+        }, RedisSerializer.byteArray());
+
+        RedisSerializer<Object> serializer = (RedisSerializer<Object>) redisTemplate.getHashValueSerializer();
+
+        if (replies.get(0) instanceof Map<?, ?> globals) {
+            globals.forEach((name, value) -> context.getGlobalVariables()
+                    .put(new String((byte[]) name, StandardCharsets.UTF_8), serializer.deserialize((byte[]) value)));
+        }
+
+        if (fields.length > 0 && replies.get(1) instanceof List<?> outputs) {
+            for (int i = 0; i < nodeIds.size(); i++) {
+                Object output = outputs.get(i) instanceof byte[] raw ? serializer.deserialize(raw) : null;
+                if (output != null) {
+                    context.getNodeOutputs().put(nodeIds.get(i), (Map<String, Object>) output);
+                }
+            }
+        }
+
+        return context;
+    }
+
+    public static Map<String, Object> composeNodeContext(List<String> ancestors, List<String> dependencies,
+                                                         Map<String, Map<String, Object>> nodeOutputs,
+                                                         Map<String, Object> globalVariables) {
+        Map<String, Object> nodeContext = new HashMap<>();
+
+        for (String ancestorId : ancestors) {
+            Map<String, Object> ancestorOutput = nodeOutputs.get(ancestorId);
+            if (ancestorOutput != null) {
+                nodeContext.putAll(ancestorOutput);
+            }
+        }
+
+        for (String depNodeId : dependencies) {
+            Map<String, Object> depOutput = nodeOutputs.get(depNodeId);
+            if (depOutput != null) {
+                nodeContext.put(depNodeId + "_output", depOutput);
+            }
+        }
+
+        if (globalVariables != null) {
+            nodeContext.putAll(globalVariables);
+        }
+
+        return nodeContext;
+    }
+
+    public Map<String, Object> getGlobalVariables(UUID executionId) {
+        Map<String, Object> globals = new HashMap<>();
+        redisTemplate.opsForHash().entries(GLOBALS_KEY + executionId)
+                .forEach((name, value) -> globals.put((String) name, value));
+        return globals;
+    }
+
+    @SuppressWarnings("unchecked")
+    public Map<String, Map<String, Object>> getNodeOutputs(UUID executionId, Collection<String> nodeIds) {
+        List<Object> fields = new ArrayList<>(nodeIds);
+        List<Object> stored = redisTemplate.opsForHash().multiGet(nodeOutputsKey(executionId), fields);
+
+        Map<String, Map<String, Object>> outputs = new HashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            if (stored != null && stored.get(i) != null) {
+                outputs.put((String) fields.get(i), (Map<String, Object>) stored.get(i));
+            }
+        }
+        return outputs;
+    }
+
+    public void updateGlobalVariables(UUID executionId, Map<String, Object> variables) {
+        if (variables == null || variables.isEmpty()) {
+            return;
+        }
+        String globalsKey = GLOBALS_KEY + executionId;
+        redisTemplate.opsForHash().putAll(globalsKey, variables);
+        redisTemplate.expire(globalsKey, DEFAULT_EXPIRATION);
+    }
+
     public void updateNodeOutput(UUID executionId, String nodeId, Map<String, Object> output) {
-        String contextKey = CONTEXT_KEY + executionId;
-        ExecutionContext context = getContext(executionId);
+        String outputsKey = nodeOutputsKey(executionId);
+        redisTemplate.opsForHash().put(outputsKey, nodeId, output);
+        redisTemplate.expire(outputsKey, DEFAULT_EXPIRATION);
+    }
 
-        if (context != null) {
-            context.getNodeOutputs().put(nodeId, output);
-            redisTemplate.opsForValue().set(contextKey, context);
+    public Map<UUID, ExecutionContext> getContextMetadata(Collection<UUID> executionIds) {
+        List<UUID> ids = new ArrayList<>(executionIds);
+        List<Object> stored = redisTemplate.opsForValue().multiGet(
+                ids.stream().map(executionId -> CONTEXT_KEY + executionId).toList());
+
+        Map<UUID, ExecutionContext> contexts = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (stored != null && stored.get(i) instanceof ExecutionContext context) {
+                contexts.put(ids.get(i), context);
+            }
         }
+        return contexts;
     }
 
     public void addReadyNodes(UUID executionId, List<String> nodeIds) {
         String readyKey = READY_NODES_KEY + executionId;
-        nodeIds.forEach(nodeId -> redisTemplate.opsForList().rightPush(readyKey, nodeId));
+        redisTemplate.opsForList().rightPushAll(readyKey, nodeIds.toArray());
         redisTemplate.expire(readyKey, Duration.ofHours(24));
     }
 
     public void storeContext(UUID executionId, ExecutionContext context) {
         String contextKey = CONTEXT_KEY + executionId;
-        redisTemplate.opsForValue().set(contextKey, context);
-        redisTemplate.expire(contextKey, DEFAULT_EXPIRATION);
+
+        Map<String, Object> globalVariables = context.getGlobalVariables();
+        Map<String, Map<String, Object>> nodeOutputs = context.getNodeOutputs();
+        context.setGlobalVariables(new HashMap<>());
+        context.setNodeOutputs(new HashMap<>());
+        try {
+            redisTemplate.opsForValue().set(contextKey, context, DEFAULT_EXPIRATION);
+        } finally {
+            context.setGlobalVariables(globalVariables);
+            context.setNodeOutputs(nodeOutputs);
+        }
+
+        updateGlobalVariables(executionId, globalVariables);
+
+        if (!nodeOutputs.isEmpty()) {
+            String outputsKey = nodeOutputsKey(executionId);
+            redisTemplate.opsForHash().putAll(outputsKey, nodeOutputs);
+            redisTemplate.expire(outputsKey, DEFAULT_EXPIRATION);
+        }
     }
 
     public void updateContext(UUID executionId, ExecutionContext context) {
         storeContext(executionId, context);
     }
 
-    public void storeDependencyGraph(UUID executionId, DependencyGraph graph) {
-        String dependencyKey = DEPENDENCY_KEY + executionId;
-        redisTemplate.opsForValue().set(dependencyKey, graph);
-        redisTemplate.expire(dependencyKey, DEFAULT_EXPIRATION);
-    }
-
     public void clearExecution(UUID executionId) {
         String contextKey = CONTEXT_KEY + executionId;
-        String dependencyKey = DEPENDENCY_KEY + executionId;
         String readyKey = READY_NODES_KEY + executionId;
 
-        redisTemplate.delete(contextKey);
-        redisTemplate.delete(dependencyKey);
-        redisTemplate.delete(readyKey);
+        redisTemplate.delete(List.of(contextKey, GLOBALS_KEY + executionId, nodeOutputsKey(executionId), readyKey));
+        kahnAlgoService.clearExecutionState(executionId);
 
         log.info("Cleared execution data for: {}", executionId);
     }
 
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
 }
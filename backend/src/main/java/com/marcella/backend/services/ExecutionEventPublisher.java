@@ -0,0 +1,121 @@
+package com.marcella.backend.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcella.backend.workflow.NodeCompletionMessage;
+import com.marcella.backend.workflow.NodeExecutionMessage;
+import com.marcella.backend.workflow.WorkflowNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExecutionEventPublisher {
+
+    @Qualifier("customStringRedisTemplate")
+    @Autowired
+    private RedisTemplate<String, String> customStringRedisTemplate;
+
+    @Value("${workflow.events.enabled:false}")
+    private boolean enabled;
+
+    private final ObjectMapper objectMapper;
+
+    public static final String EVENTS_CHANNEL = "execution:events:";
+
+    public static final String NODE_DISPATCHED = "node.dispatched";
+    public static final String NODE_STARTED = "node.started";
+    public static final String NODE_COMPLETED = "node.completed";
+    public static final String NODE_FAILED = "node.failed";
+    public static final String NODE_SKIPPED = "node.skipped";
+    public static final String EXECUTION_COMPLETED = "execution.completed";
+    public static final String EXECUTION_FAILED = "execution.failed";
+
+    public static boolean isFinal(String eventType) {
+        return EXECUTION_COMPLETED.equals(eventType) || EXECUTION_FAILED.equals(eventType);
+    }
+
+    public void nodeDispatched(NodeExecutionMessage message) {
+        Map<String, Object> event = nodeEvent(NODE_DISPATCHED, message.getNodeId(), message.getNodeType());
+        event.put("priority", message.getPriority());
+        if (message.getSegment() != null) {
+            event.put("segment", message.getSegment().stream().map(WorkflowNode::getId).toList());
+        }
+        publish(message.getExecutionId(), event);
+    }
+
+    public void nodeStarted(NodeExecutionMessage message) {
+        publish(message.getExecutionId(), nodeEvent(NODE_STARTED, message.getNodeId(), message.getNodeType()));
+    }
+
+    public void nodeFinished(NodeCompletionMessage message) {
+        String type = "FAILED".equals(message.getStatus()) ? NODE_FAILED : NODE_COMPLETED;
+
+        if (message.getSegmentOutputs() != null && !message.getSegmentOutputs().isEmpty()) {
+            message.getSegmentOutputs().keySet().forEach(nodeId ->
+                    publish(message.getExecutionId(), nodeEvent(type, nodeId, null)));
+            return;
+        }
+
+        Map<String, Object> event = nodeEvent(type, message.getNodeId(), message.getNodeType());
+        event.put("processingTime", message.getProcessingTime());
+        if (message.getError() != null) {
+            event.put("error", message.getError());
+        }
+        publish(message.getExecutionId(), event);
+    }
+
+    public void nodesSkipped(UUID executionId, List<String> nodeIds) {
+        nodeIds.forEach(nodeId -> publish(executionId, nodeEvent(NODE_SKIPPED, nodeId, null)));
+    }
+
+    public void executionFinished(UUID executionId, String status, Map<String, Object> output, String error) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("type", "COMPLETED".equals(status) ? EXECUTION_COMPLETED : EXECUTION_FAILED);
+        event.put("status", status);
+        if (output != null) {
+            event.put("output", output);
+        }
+        if (error != null) {
+            event.put("error", error);
+        }
+        event.put("timestamp", Instant.now().toString());
+        publish(executionId, event);
+    }
+
+    private static Map<String, Object> nodeEvent(String type, String nodeId, String nodeType) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("type", type);
+        event.put("nodeId", nodeId);
+        if (nodeType != null) {
+            event.put("nodeType", nodeType);
+        }
+        event.put("timestamp", Instant.now().toString());
+        return event;
+    }
+
+    // workflow.events.enabled only gates per-node progress; the terminal execution event is always
+    // published so that open event streams finish instead of waiting for the emitter timeout.
+    private void publish(UUID executionId, Map<String, Object> event) {
+        if (executionId == null || (!enabled && !isFinal(String.valueOf(event.get("type"))))) {
+            return;
+        }
+
+        try {
+            customStringRedisTemplate.convertAndSend(EVENTS_CHANNEL + executionId, objectMapper.writeValueAsString(event));
+        } catch (Exception e) {
+            log.warn("Failed to publish {} event for execution: {}", event.get("type"), executionId, e);
+        }
+    }
+}
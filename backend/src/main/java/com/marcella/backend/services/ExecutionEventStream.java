@@ -0,0 +1,229 @@
+package com.marcella.backend.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcella.backend.entities.Execution;
+import com.marcella.backend.repositories.ExecutionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExecutionEventStream implements MessageListener {
+
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final ExecutionRepository executionRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${workflow.events.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${workflow.events.send-threads:4}")
+    private int sendThreads;
+
+    @Value("${workflow.events.send-queue-capacity:10000}")
+    private int sendQueueCapacity;
+
+    @Value("${workflow.events.watcher-queue-capacity:256}")
+    private int watcherQueueCapacity;
+
+    private final Map<UUID, Set<Watcher>> watchers = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor sendExecutor;
+
+    @PostConstruct
+    public void init() {
+        sendExecutor = new ThreadPoolExecutor(sendThreads, sendThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(sendQueueCapacity), new CustomizableThreadFactory("execution-events-"));
+        sendExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sendExecutor.shutdown();
+    }
+
+    public SseEmitter subscribe(UUID executionId) {
+        Watcher watcher = new Watcher(executionId, new SseEmitter(emitterTimeoutMs));
+        watcher.emitter.onCompletion(() -> unsubscribe(executionId, watcher));
+        watcher.emitter.onTimeout(() -> unsubscribe(executionId, watcher));
+        watcher.emitter.onError(error -> unsubscribe(executionId, watcher));
+
+        watchers.compute(executionId, (id, existing) -> {
+            if (existing == null) {
+                existing = ConcurrentHashMap.newKeySet();
+                redisMessageListenerContainer.addMessageListener(this, topic(id));
+            }
+            existing.add(watcher);
+            return existing;
+        });
+
+        Execution execution = executionRepository.findById(executionId).orElse(null);
+        if (execution == null) {
+            watcher.enqueue(new Event("error", Map.of("error", "Execution not found", "status", "NOT_FOUND"), true));
+        } else if ("COMPLETED".equals(execution.getStatus()) || "FAILED".equals(execution.getStatus())) {
+            watcher.enqueue(new Event(finalEventType(execution.getStatus()), finalEvent(execution), true));
+        }
+        return watcher.emitter;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+        UUID executionId = UUID.fromString(channel.substring(ExecutionEventPublisher.EVENTS_CHANNEL.length()));
+
+        Set<Watcher> executionWatchers = watchers.get(executionId);
+        if (executionWatchers == null || executionWatchers.isEmpty()) {
+            return;
+        }
+
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String type;
+        try {
+            JsonNode event = objectMapper.readTree(body);
+            type = event.path("type").asText("message");
+        } catch (Exception e) {
+            log.warn("Dropping malformed execution event for {}: {}", executionId, e.getMessage());
+            return;
+        }
+
+        Event event = new Event(type, body, ExecutionEventPublisher.isFinal(type));
+        executionWatchers.forEach(watcher -> watcher.enqueue(event));
+    }
+
+    private void unsubscribe(UUID executionId, Watcher watcher) {
+        watchers.computeIfPresent(executionId, (id, existing) -> {
+            existing.remove(watcher);
+            if (!existing.isEmpty()) {
+                return existing;
+            }
+            redisMessageListenerContainer.removeMessageListener(this, topic(id));
+            return null;
+        });
+    }
+
+    private Map<String, Object> finalEvent(Execution execution) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("type", finalEventType(execution.getStatus()));
+        event.put("status", execution.getStatus());
+        if (execution.getOutputData() != null) {
+            try {
+                event.put("output", objectMapper.readValue(execution.getOutputData(), Map.class));
+            } catch (Exception e) {
+                log.warn("Failed to parse output data for execution: {}", execution.getId());
+            }
+        }
+        if (execution.getError() != null) {
+            event.put("error", execution.getError());
+        }
+        event.put("timestamp", (execution.getCompletedAt() != null ? execution.getCompletedAt() : Instant.now()).toString());
+        return event;
+    }
+
+    private static String finalEventType(String status) {
+        return "COMPLETED".equals(status)
+                ? ExecutionEventPublisher.EXECUTION_COMPLETED
+                : ExecutionEventPublisher.EXECUTION_FAILED;
+    }
+
+    private static ChannelTopic topic(UUID executionId) {
+        return new ChannelTopic(ExecutionEventPublisher.EVENTS_CHANNEL + executionId);
+    }
+
+    // Sends happen on the shared send pool, never on the Redis listener thread. Each watcher drains
+    // its own queue one event at a time, which keeps per-execution ordering; a watcher whose queue
+    // fills up is too slow to keep up and is dropped.
+    private final class Watcher {
+        private final UUID executionId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Event> pending = new ArrayBlockingQueue<>(watcherQueueCapacity);
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Watcher(UUID executionId, SseEmitter emitter) {
+            this.executionId = executionId;
+            this.emitter = emitter;
+        }
+
+        private void enqueue(Event event) {
+            if (!pending.offer(event)) {
+                drop(new IllegalStateException("Execution event watcher fell behind"));
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                sendExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                drop(e);
+            }
+        }
+
+        private void drain() {
+            try {
+                Event event;
+                while ((event = pending.poll()) != null) {
+                    emitter.send(SseEmitter.event().name(event.type).data(event.data, MediaType.APPLICATION_JSON));
+                    if (event.last) {
+                        pending.clear();
+                        emitter.complete();
+                        return;
+                    }
+                }
+            } catch (Exception e) {
+                drop(e);
+                return;
+            } finally {
+                draining.set(false);
+            }
+
+            if (!pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private void drop(Exception e) {
+            log.debug("Dropping execution event watcher for {}: {}", executionId, e.getMessage());
+            pending.clear();
+            emitter.completeWithError(e);
+        }
+    }
+
+    @AllArgsConstructor
+    private static final class Event {
+        private final String type;
+        private final Object data;
+        private final boolean last;
+    }
+}
@@ -18,6 +18,8 @@ public class ExecutionService {
 
     private final ExecutionRepository executionRepository;
     private final ObjectMapper objectMapper;
+    private final ExecutionCompletionNotifier completionNotifier;
+    private final ExecutionEventPublisher eventPublisher;
 
     public Execution startExecution(Workflows workflow) {
         Execution execution = Execution.builder()
@@ -36,6 +38,8 @@ public class ExecutionService {
             execution.setOutputData(objectMapper.writeValueAsString(outputData));
             execution.setCompletedAt(Instant.now());
             executionRepository.save(execution);
+            completionNotifier.publishFinished(execution.getId());
+            eventPublisher.executionFinished(execution.getId(), "COMPLETED", outputData, null);
         } catch (Exception e) {
             log.error("Failed to serialize output data", e);
             failExecution(execution, "Serialization failed: " + e.getMessage());
@@ -47,5 +51,7 @@ public class ExecutionService {
         execution.setError(errorMessage);
         execution.setCompletedAt(Instant.now());
         executionRepository.save(execution);
+        completionNotifier.publishFinished(execution.getId());
+        eventPublisher.executionFinished(execution.getId(), "FAILED", null, errorMessage);
     }
 }
@@ -0,0 +1,381 @@
+package com.marcella.backend.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HttpResponseCache {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${workflow.http.cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${workflow.http.cache.max-entries:256}")
+    private int maxEntries;
+
+    @Value("${workflow.http.cache.max-entry-bytes:65536}")
+    private int maxEntryBytes;
+
+    @Value("${workflow.http.cache.max-total-bytes:8388608}")
+    private long maxTotalBytes;
+
+    @Value("${workflow.http.cache.default-ttl-ms:0}")
+    private long defaultTtlMs;
+
+    @Value("${workflow.http.cache.revalidate-retention-ms:600000}")
+    private long revalidateRetentionMs;
+
+    @Value("${workflow.http.cache.redis.enabled:false}")
+    private boolean redisEnabled;
+
+    private static final String CACHE_PREFIX = "http:cache:";
+
+    private final Map<String, CompletableFuture<ResponseEntity<String>>> inFlight = new ConcurrentHashMap<>();
+    private Map<String, CachedResponse> entries;
+    private long totalBytes;
+
+    @PostConstruct
+    public void init() {
+        entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public boolean isCacheable(HttpMethod method, Map<String, Object> nodeData) {
+        return enabled
+                && (HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method))
+                && !Boolean.FALSE.equals(nodeData.get("cache"));
+    }
+
+    public ResponseEntity<String> fetch(HttpMethod method, URI uri, HttpHeaders headers,
+                                        Function<HttpHeaders, ResponseEntity<String>> upstream) {
+        String key = key(method, uri, headers);
+
+        CachedResponse cached = lookup(key);
+        if (cached != null && cached.isFresh(System.currentTimeMillis())) {
+            record("hit");
+            return cached.toResponseEntity();
+        }
+
+        return singleFlight(key, () -> load(key, headers, upstream));
+    }
+
+    private ResponseEntity<String> load(String key, HttpHeaders headers,
+                                        Function<HttpHeaders, ResponseEntity<String>> upstream) {
+        CachedResponse cached = lookup(key);
+        long now = System.currentTimeMillis();
+        if (cached != null && cached.isFresh(now)) {
+            record("hit");
+            return cached.toResponseEntity();
+        }
+
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.putAll(headers);
+        if (cached != null) {
+            if (cached.getEtag() != null) {
+                requestHeaders.setIfNoneMatch(cached.getEtag());
+            }
+            if (cached.getLastModified() != null) {
+                requestHeaders.set(HttpHeaders.IF_MODIFIED_SINCE, cached.getLastModified());
+            }
+        }
+
+        ResponseEntity<String> response = upstream.apply(requestHeaders);
+        now = System.currentTimeMillis();
+
+        if (cached != null && response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+            record("revalidated");
+            CachedResponse refreshed = cached.toBuilder()
+                    .expiresAt(now + freshnessMs(response.getHeaders(), cached.getLastModified()))
+                    .build();
+            store(key, refreshed);
+            return refreshed.toResponseEntity();
+        }
+
+        record("miss");
+        CachedResponse entry = toEntry(response, now);
+        if (entry != null) {
+            store(key, entry);
+        } else {
+            evict(key);
+        }
+        return response;
+    }
+
+    private ResponseEntity<String> singleFlight(String key, Supplier<ResponseEntity<String>> loader) {
+        CompletableFuture<ResponseEntity<String>> call = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<String>> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            record("collapsed");
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        try {
+            ResponseEntity<String> response = loader.get();
+            call.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private CachedResponse toEntry(ResponseEntity<String> response, long now) {
+        if (response.getStatusCode().value() != HttpStatus.OK.value()) {
+            return null;
+        }
+
+        HttpHeaders headers = response.getHeaders();
+        Map<String, String> directives = cacheControl(headers);
+        if (directives.containsKey("no-store") || headers.getVary().contains("*")) {
+            return null;
+        }
+
+        String body = response.getBody();
+        long size = utf8Length(body);
+        if (size > maxEntryBytes) {
+            return null;
+        }
+
+        String etag = headers.getETag();
+        String lastModified = headers.getFirst(HttpHeaders.LAST_MODIFIED);
+        long freshness = directives.containsKey("no-cache") ? 0 : freshnessMs(headers, lastModified);
+        if (freshness <= 0 && etag == null && lastModified == null) {
+            return null;
+        }
+
+        return CachedResponse.builder()
+                .status(response.getStatusCode().value())
+                .headers(new LinkedHashMap<>(headers))
+                .body(body)
+                .size(size)
+                .etag(etag)
+                .lastModified(lastModified)
+                .storedAt(now)
+                .expiresAt(now + freshness)
+                .shared(!directives.containsKey("private") && !headers.containsKey(HttpHeaders.SET_COOKIE))
+                .build();
+    }
+
+    private long freshnessMs(HttpHeaders headers, String lastModified) {
+        Map<String, String> directives = cacheControl(headers);
+        if (directives.containsKey("no-cache")) {
+            return 0;
+        }
+
+        long age = Math.max(0, parseSeconds(headers.getFirst(HttpHeaders.AGE))) * 1000;
+        long maxAge = parseSeconds(directives.getOrDefault("s-maxage", directives.get("max-age")));
+        if (maxAge >= 0) {
+            return Math.max(0, maxAge * 1000 - age);
+        }
+
+        long expires = headers.getExpires();
+        if (expires > 0) {
+            long date = headers.getDate() > 0 ? headers.getDate() : System.currentTimeMillis();
+            return Math.max(0, expires - date);
+        }
+
+        if (lastModified != null && headers.getLastModified() > 0) {
+            long heuristic = (System.currentTimeMillis() - headers.getLastModified()) / 10;
+            return defaultTtlMs > 0 ? Math.min(heuristic, defaultTtlMs) : 0;
+        }
+        return defaultTtlMs;
+    }
+
+    private CachedResponse lookup(String key) {
+        CachedResponse cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+        }
+        if (cached != null || !redisEnabled) {
+            return cached;
+        }
+
+        try {
+            Object shared = redisTemplate.opsForValue().get(CACHE_PREFIX + key);
+            if (shared instanceof CachedResponse sharedResponse) {
+                putLocal(key, sharedResponse);
+                return sharedResponse;
+            }
+        } catch (Exception e) {
+            log.warn("Failed to read shared HTTP cache entry: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    private void store(String key, CachedResponse entry) {
+        putLocal(key, entry);
+
+        if (!redisEnabled || !entry.isShared()) {
+            return;
+        }
+
+        long retention = entry.getExpiresAt() - System.currentTimeMillis();
+        if (entry.getEtag() != null || entry.getLastModified() != null) {
+            retention += revalidateRetentionMs;
+        }
+        if (retention <= 0) {
+            return;
+        }
+
+        try {
+            redisTemplate.opsForValue().set(CACHE_PREFIX + key, entry, Duration.ofMillis(retention));
+        } catch (Exception e) {
+            log.warn("Failed to write shared HTTP cache entry: {}", e.getMessage());
+        }
+    }
+
+    private void evict(String key) {
+        CachedResponse removed;
+        synchronized (entries) {
+            removed = entries.remove(key);
+            if (removed != null) {
+                totalBytes -= removed.getSize();
+            }
+        }
+        if (removed != null && redisEnabled) {
+            redisTemplate.delete(CACHE_PREFIX + key);
+        }
+    }
+
+    private void putLocal(String key, CachedResponse entry) {
+        synchronized (entries) {
+            CachedResponse previous = entries.put(key, entry);
+            totalBytes += entry.getSize() - (previous != null ? previous.getSize() : 0);
+
+            Iterator<CachedResponse> eldest = entries.values().iterator();
+            while (eldest.hasNext() && (entries.size() > maxEntries || totalBytes > maxTotalBytes)) {
+                totalBytes -= eldest.next().getSize();
+                eldest.remove();
+            }
+        }
+    }
+
+    private void record(String result) {
+        meterRegistry.counter("workflow.http.cache.requests", "result", result).increment();
+    }
+
+    private static String key(HttpMethod method, URI uri, HttpHeaders headers) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((method.name() + " " + uri).getBytes(StandardCharsets.UTF_8));
+            new TreeMap<>(headers).forEach((name, values) ->
+                    digest.update(("\n" + name.toLowerCase() + ":" + String.join(",", values))
+                            .getBytes(StandardCharsets.UTF_8)));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to build HTTP cache key", e);
+        }
+    }
+
+    private static Map<String, String> cacheControl(HttpHeaders headers) {
+        Map<String, String> directives = new HashMap<>();
+        for (String value : headers.getOrEmpty(HttpHeaders.CACHE_CONTROL)) {
+            for (String directive : value.split(",")) {
+                String[] parts = directive.trim().split("=", 2);
+                if (!parts[0].isEmpty()) {
+                    directives.put(parts[0].toLowerCase(), parts.length > 1 ? parts[1].replace("\"", "").trim() : "");
+                }
+            }
+        }
+        return directives;
+    }
+
+    private static long utf8Length(String value) {
+        if (value == null) {
+            return 0;
+        }
+        long length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private static long parseSeconds(String value) {
+        if (value == null || value.isBlank()) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @Data
+    @Builder(toBuilder = true)
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CachedResponse {
+        private int status;
+        private Map<String, List<String>> headers;
+        private String body;
+        private long size;
+        private String etag;
+        private String lastModified;
+        private long storedAt;
+        private long expiresAt;
+        private boolean shared;
+
+        public boolean isFresh(long now) {
+            return now < expiresAt;
+        }
+
+        public ResponseEntity<String> toResponseEntity() {
+            HttpHeaders httpHeaders = new HttpHeaders();
+            if (headers != null) {
+                headers.forEach(httpHeaders::put);
+            }
+            httpHeaders.set(HttpHeaders.AGE,
+                    String.valueOf(Math.max(0, (System.currentTimeMillis() - storedAt) / 1000)));
+            return ResponseEntity.status(status).headers(httpHeaders).body(body);
+        }
+    }
+}
@@ -1,19 +1,50 @@
 package com.marcella.backend.services;
 
+import com.marcella.backend.workflow.CompactDependencyGraph;
+import com.marcella.backend.workflow.CompiledWorkflowPlan;
 import com.marcella.backend.workflow.DependencyGraph;
+import com.marcella.backend.workflow.NodeCompletionMessage;
+import com.marcella.backend.workflow.NodeCompletionResult;
+import com.marcella.backend.workflow.SuccessorResolution;
 import com.marcella.backend.workflow.WorkflowDefinition;
+import com.marcella.backend.workflow.WorkflowNode;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.connection.RedisPipelineException;
+import org.springframework.data.redis.connection.ReturnType;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class KahnAlgoService {
     private final RedisTemplate<String, Object> redisTemplate;
 
+    private static final String PENDING_KEY = "execution:pending:";
+    private static final String COMPLETED_KEY = "execution:completed:";
+    private static final String LIVE_EDGES_KEY = "execution:live:";
+    private static final String SKIPPED_KEY = "execution:skipped:";
+    private static final int COMPLETION_SCRIPT_KEYS = 5;
+    private static final Duration DEFAULT_EXPIRATION = Duration.ofHours(24);
+    private static final byte[] NODE_COMPLETION_SCRIPT = loadScript("scripts/node-completion.lua");
+    private static final String NODE_COMPLETION_SHA = sha1(NODE_COMPLETION_SCRIPT);
+
     public DependencyGraph buildDependencyGraph(WorkflowDefinition workflow) {
         Map<String, List<String>> incomingEdges = new HashMap<>();
         Map<String, List<String>> outgoingEdges = new HashMap<>();
@@ -43,6 +74,14 @@ public class KahnAlgoService {
                 .build();
     }
 
+    public CompactDependencyGraph buildCompactDependencyGraph(WorkflowDefinition workflow) {
+        List<String> nodeOrder = workflow.getNodes().stream()
+                .map(WorkflowNode::getId)
+                .collect(Collectors.toList());
+
+        return CompactDependencyGraph.from(nodeOrder, buildDependencyGraph(workflow));
+    }
+
     public List<String> getInitialReadyNodes(DependencyGraph graph) {
         return graph.getInDegree().entrySet().stream()
                 .filter(entry -> entry.getValue() == 0)
@@ -50,45 +89,201 @@ public class KahnAlgoService {
                 .collect(Collectors.toList());
     }
 
-    public List<String> processNodeCompletion(UUID executionId, String completedNodeId) {
-        String dependencyKey = "execution:dependencies:" + executionId;
-        DependencyGraph graph = (DependencyGraph) redisTemplate.opsForValue().get(dependencyKey);
+    public void initializeExecutionState(UUID executionId, CompiledWorkflowPlan plan) {
+        byte[] pendingKey = bytes(PENDING_KEY + executionId);
+
+        CompactDependencyGraph graph = plan.getGraph();
+        Map<byte[], byte[]> inDegree = new HashMap<>();
+        for (int i = 0; i < graph.size(); i++) {
+            inDegree.put(bytes(graph.nodeId(i)), bytes(String.valueOf(graph.predecessorCount(i))));
+        }
+
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.hashCommands().hMSet(pendingKey, inDegree);
+            connection.keyCommands().expire(pendingKey, DEFAULT_EXPIRATION.getSeconds());
+            return null;
+        });
+    }
+
+    public NodeCompletionResult processNodeCompletion(NodeCompletionMessage completion,
+                                                      SuccessorResolution successors) {
+        UUID executionId = completion.getExecutionId();
+        byte[][] keysAndArgs = completionScriptArgs(executionId, completedOutputs(completion), successors);
 
-        if (graph == null) {
-            throw new IllegalStateException("Dependency graph not found for execution: " + executionId);
+        List<Object> reply;
+        try {
+            reply = evalCompletionScript(keysAndArgs);
+        } catch (RuntimeException e) {
+            if (!isNoScript(e)) {
+                throw e;
+            }
+            loadCompletionScript();
+            reply = evalCompletionScript(keysAndArgs);
         }
 
-        graph.getCompletedNodes().add(completedNodeId);
+        NodeCompletionResult result = toCompletionResult(reply);
+        if (result == null) {
+            throw new IllegalStateException("Node completion script returned no result for execution: " + executionId);
+        }
+        return result;
+    }
 
-        List<String> newlyReadyNodes = new ArrayList<>();
+    public List<NodeCompletionResult> processNodeCompletions(List<NodeCompletionMessage> completions,
+                                                             Function<NodeCompletionMessage, SuccessorResolution> successors) {
+        if (completions.isEmpty()) {
+            return List.of();
+        }
 
-        List<String> dependentNodes = graph.getOutgoingEdges().get(completedNodeId);
-        for (String dependentNode : dependentNodes) {
+        List<byte[][]> scriptArgs = completions.stream()
+                .map(completion -> completionScriptArgs(completion.getExecutionId(),
+                        completedOutputs(completion), successors.apply(completion)))
+                .toList();
 
-            int currentInDegree = graph.getInDegree().get(dependentNode);
-            graph.getInDegree().put(dependentNode, currentInDegree - 1);
+        List<Object> replies = new ArrayList<>(pipelineCompletionScript(scriptArgs));
 
-            if (currentInDegree - 1 == 0) {
-                newlyReadyNodes.add(dependentNode);
+        List<Integer> notLoaded = new ArrayList<>();
+        for (int i = 0; i < replies.size(); i++) {
+            if (replies.get(i) instanceof Exception e && isNoScript(e)) {
+                notLoaded.add(i);
+            }
+        }
+        if (!notLoaded.isEmpty()) {
+            loadCompletionScript();
+            List<Object> retried = pipelineCompletionScript(notLoaded.stream().map(scriptArgs::get).toList());
+            for (int i = 0; i < notLoaded.size(); i++) {
+                replies.set(notLoaded.get(i), retried.get(i));
             }
         }
 
-        redisTemplate.opsForValue().set(dependencyKey, graph);
+        long failed = replies.stream().filter(Exception.class::isInstance).count();
+        if (failed > 0) {
+            log.error("Pipelined node completion failed for {} of {} completions", failed, completions.size());
+        }
+
+        List<NodeCompletionResult> results = new ArrayList<>(replies.size());
+        for (Object reply : replies) {
+            results.add(reply instanceof List<?> values ? toCompletionResult(values) : null);
+        }
+        return results;
+    }
 
-        return newlyReadyNodes;
+    private List<Object> evalCompletionScript(byte[][] keysAndArgs) {
+        return redisTemplate.execute((RedisCallback<List<Object>>) connection ->
+                connection.scriptingCommands().evalSha(NODE_COMPLETION_SHA, ReturnType.MULTI,
+                        COMPLETION_SCRIPT_KEYS, keysAndArgs));
     }
 
-    public boolean isWorkflowComplete(UUID executionId) {
-        String dependencyKey = "execution:dependencies:" + executionId;
-        DependencyGraph graph = (DependencyGraph) redisTemplate.opsForValue().get(dependencyKey);
+    private List<Object> pipelineCompletionScript(List<byte[][]> scriptArgs) {
+        try {
+            return redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                scriptArgs.forEach(keysAndArgs -> connection.scriptingCommands()
+                        .evalSha(NODE_COMPLETION_SHA, ReturnType.MULTI, COMPLETION_SCRIPT_KEYS, keysAndArgs));
+                return null;
+            }, RedisSerializer.byteArray());
+        } catch (RedisPipelineException e) {
+            return e.getPipelineResult();
+        }
+    }
 
-        if (graph == null) return false;
+    private void loadCompletionScript() {
+        String sha = redisTemplate.execute((RedisCallback<String>) connection ->
+                connection.scriptingCommands().scriptLoad(NODE_COMPLETION_SCRIPT));
+        log.info("Loaded node completion script: {}", sha);
+    }
 
-        int totalNodes = graph.getInDegree().size();
-        int completedNodes = graph.getCompletedNodes().size();
-        int failedNodes = graph.getFailedNodes().size();
+    private static boolean isNoScript(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().contains("NOSCRIPT")) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        return (completedNodes + failedNodes) == totalNodes;
+    public void clearExecutionState(UUID executionId) {
+        redisTemplate.delete(List.of(PENDING_KEY + executionId, COMPLETED_KEY + executionId,
+                LIVE_EDGES_KEY + executionId, SKIPPED_KEY + executionId));
     }
-}
 
+    private static Map<String, Map<String, Object>> completedOutputs(NodeCompletionMessage completion) {
+        if (completion.getSegmentOutputs() != null && !completion.getSegmentOutputs().isEmpty()) {
+            return completion.getSegmentOutputs();
+        }
+
+        Map<String, Map<String, Object>> outputs = new LinkedHashMap<>();
+        outputs.put(completion.getNodeId(), completion.getOutput());
+        return outputs;
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[][] completionScriptArgs(UUID executionId, Map<String, Map<String, Object>> completedOutputs,
+                                          SuccessorResolution successors) {
+        RedisSerializer<Object> serializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+
+        List<byte[]> keysAndArgs = new ArrayList<>();
+        keysAndArgs.add(bytes(PENDING_KEY + executionId));
+        keysAndArgs.add(bytes(COMPLETED_KEY + executionId));
+        keysAndArgs.add(bytes(ExecutionContextService.nodeOutputsKey(executionId)));
+        keysAndArgs.add(bytes(LIVE_EDGES_KEY + executionId));
+        keysAndArgs.add(bytes(SKIPPED_KEY + executionId));
+        keysAndArgs.add(bytes(String.valueOf(DEFAULT_EXPIRATION.getSeconds())));
+        keysAndArgs.add(bytes(String.valueOf(completedOutputs.size())));
+        completedOutputs.forEach((nodeId, output) -> {
+            keysAndArgs.add(bytes(nodeId));
+            keysAndArgs.add(output != null && !output.isEmpty() ? serializer.serialize(output) : new byte[0]);
+        });
+        addCountedIds(keysAndArgs, successors.getLiveSuccessors());
+        addCountedIds(keysAndArgs, successors.getDeadSuccessors());
+
+        keysAndArgs.add(bytes(String.valueOf(successors.getDeadPathSuccessors().size())));
+        successors.getDeadPathSuccessors().forEach((nodeId, nodeSuccessors) -> {
+            keysAndArgs.add(bytes(nodeId));
+            addCountedIds(keysAndArgs, nodeSuccessors);
+        });
+
+        return keysAndArgs.toArray(new byte[0][]);
+    }
+
+    private static void addCountedIds(List<byte[]> args, List<String> ids) {
+        args.add(bytes(String.valueOf(ids.size())));
+        ids.forEach(id -> args.add(bytes(id)));
+    }
+
+    private static NodeCompletionResult toCompletionResult(List<?> reply) {
+        if (reply == null || reply.size() < 3) {
+            return null;
+        }
+
+        List<String> values = reply.stream()
+                .map(value -> value instanceof byte[] raw ? new String(raw, StandardCharsets.UTF_8) : String.valueOf(value))
+                .toList();
+        int readyCount = Integer.parseInt(values.get(2));
+
+        return NodeCompletionResult.builder()
+                .workflowComplete("1".equals(values.get(0)))
+                .duplicate("1".equals(values.get(1)))
+                .readyNodes(new ArrayList<>(values.subList(3, 3 + readyCount)))
+                .skippedNodes(new ArrayList<>(values.subList(3 + readyCount, values.size())))
+                .build();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String sha1(byte[] script) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-1").digest(script));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 not available", e);
+        }
+    }
+
+    private static byte[] loadScript(String path) {
+        try (InputStream in = new ClassPathResource(path).getInputStream()) {
+            return StreamUtils.copyToByteArray(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load Redis script: " + path, e);
+        }
+    }
+}
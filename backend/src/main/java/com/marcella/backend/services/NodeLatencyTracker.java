@@ -0,0 +1,31 @@
+package com.marcella.backend.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class NodeLatencyTracker {
+
+    @Value("${workflow.priority.latency-smoothing:0.2}")
+    private double smoothing;
+
+    @Value("${workflow.priority.default-latency-ms:50}")
+    private double defaultLatencyMs;
+
+    private final Map<String, Double> averageLatencies = new ConcurrentHashMap<>();
+
+    public void record(String nodeType, long processingTimeMs) {
+        if (nodeType == null || processingTimeMs < 0) {
+            return;
+        }
+        averageLatencies.merge(nodeType, (double) processingTimeMs,
+                (average, sample) -> average + smoothing * (sample - average));
+    }
+
+    public double estimate(String nodeType) {
+        return averageLatencies.getOrDefault(nodeType, defaultLatencyMs);
+    }
+}
@@ -0,0 +1,267 @@
+package com.marcella.backend.services;
+
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+@Service
+@Slf4j
+public class SpillStore {
+
+    @Qualifier("customStringRedisTemplate")
+    @Autowired
+    private RedisTemplate<String, String> customStringRedisTemplate;
+
+    @Value("${workflow.spill.directory:${java.io.tmpdir}/workflow-spill}")
+    private String directory;
+
+    @Value("${workflow.spill.retention-ms:86400000}")
+    private long retentionMs;
+
+    public static final String SCHEME = "spill://";
+
+    private static final String EXECUTIONS_PREFIX = "spill:executions:";
+
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private Path root;
+
+    @PostConstruct
+    public void init() throws IOException {
+        root = Paths.get(directory);
+        Files.createDirectories(root);
+        log.info("Spill store at {}", root.toAbsolutePath());
+    }
+
+    public CapturedBody capture(InputStream content, String contentType, int thresholdBytes) throws IOException {
+        byte[] prefix = content.readNBytes(thresholdBytes + 1);
+        if (prefix.length <= thresholdBytes) {
+            return new CapturedBody(prefix, null);
+        }
+
+        SpillHandle handle = write(new SequenceInputStream(new ByteArrayInputStream(prefix), content), contentType);
+        return new CapturedBody(null, handle);
+    }
+
+    public SpillHandle write(InputStream content, String contentType) throws IOException {
+        try (SpillWriter writer = openWriter(contentType);
+             ReadableByteChannel source = Channels.newChannel(content)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            while (source.read(buffer) != -1) {
+                buffer.flip();
+                writer.write(buffer);
+                buffer.clear();
+            }
+            return writer.finish();
+        }
+    }
+
+    public SpillWriter openWriter(String contentType) throws IOException {
+        return new SpillWriter(Files.createTempFile(root, "spill-", ".tmp"), contentType);
+    }
+
+    public InputStream open(String uriOrHash) throws IOException {
+        return Files.newInputStream(resolve(uriOrHash));
+    }
+
+    public void bind(SpillHandle handle, UUID executionId) {
+        String key = EXECUTIONS_PREFIX + handle.getSha256();
+        customStringRedisTemplate.opsForSet().add(key, executionId.toString());
+        customStringRedisTemplate.expire(key, Duration.ofMillis(retentionMs));
+    }
+
+    public boolean isBoundTo(String sha256, UUID executionId) {
+        return Boolean.TRUE.equals(customStringRedisTemplate.opsForSet()
+                .isMember(EXECUTIONS_PREFIX + sha256, executionId.toString()));
+    }
+
+    public Path resolve(String uriOrHash) {
+        String hash = uriOrHash.startsWith(SCHEME) ? uriOrHash.substring(SCHEME.length()) : uriOrHash;
+        if (!HASH_PATTERN.matcher(hash).matches()) {
+            throw new IllegalArgumentException("Invalid spill reference: " + uriOrHash);
+        }
+
+        Path path = root.resolve(hash);
+        if (!Files.exists(path)) {
+            throw new RuntimeException("Spilled content not found: " + uriOrHash);
+        }
+        return path;
+    }
+
+    @Scheduled(fixedDelayString = "${workflow.spill.cleanup-interval-ms:3600000}")
+    public void deleteExpired() {
+        long cutoff = System.currentTimeMillis() - retentionMs;
+        try (Stream<Path> files = Files.list(root)) {
+            files.filter(path -> {
+                try {
+                    return Files.getLastModifiedTime(path).toMillis() < cutoff;
+                } catch (IOException e) {
+                    return false;
+                }
+            }).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    log.warn("Failed to delete expired spill file {}: {}", path, e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            log.warn("Failed to clean up spill store: {}", e.getMessage());
+        }
+    }
+
+    public class SpillWriter implements AutoCloseable {
+        private final Path temp;
+        private final String contentType;
+        private final FileChannel channel;
+        private final MessageDigest digest;
+        private final ByteBuffer staging = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private long size;
+        private boolean finished;
+
+        private SpillWriter(Path temp, String contentType) throws IOException {
+            this.temp = temp;
+            this.contentType = contentType;
+            this.channel = FileChannel.open(temp, StandardOpenOption.WRITE);
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                channel.close();
+                Files.deleteIfExists(temp);
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+
+        public void write(byte[] bytes) throws IOException {
+            write(ByteBuffer.wrap(bytes));
+        }
+
+        public void write(ByteBuffer source) throws IOException {
+            digest.update(source.duplicate());
+            size += source.remaining();
+
+            if (staging.position() == 0 && source.remaining() >= staging.capacity()) {
+                while (source.hasRemaining()) {
+                    channel.write(source);
+                }
+                return;
+            }
+
+            while (source.hasRemaining()) {
+                if (!staging.hasRemaining()) {
+                    flush();
+                }
+                int length = Math.min(staging.remaining(), source.remaining());
+                ByteBuffer chunk = source.slice();
+                chunk.limit(length);
+                staging.put(chunk);
+                source.position(source.position() + length);
+            }
+        }
+
+        public long size() {
+            return size;
+        }
+
+        public SpillHandle finish() throws IOException {
+            flush();
+            channel.close();
+
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            Path target = root.resolve(sha256);
+            if (Files.exists(target)) {
+                Files.delete(temp);
+                Files.setLastModifiedTime(target, FileTime.fromMillis(System.currentTimeMillis()));
+            } else {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+            finished = true;
+
+            log.info("Spilled {} bytes to {}{}", size, SCHEME, sha256);
+            return SpillHandle.builder()
+                    .uri(SCHEME + sha256)
+                    .sha256(sha256)
+                    .size(size)
+                    .contentType(contentType)
+                    .build();
+        }
+
+        private void flush() throws IOException {
+            staging.flip();
+            while (staging.hasRemaining()) {
+                channel.write(staging);
+            }
+            staging.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!finished) {
+                channel.close();
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class CapturedBody {
+        private final byte[] bytes;
+        private final SpillHandle handle;
+
+        public boolean isSpilled() {
+            return handle != null;
+        }
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SpillHandle {
+        private String uri;
+        private String sha256;
+        private long size;
+        private String contentType;
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("uri", uri);
+            map.put("sha256", sha256);
+            map.put("size", size);
+            map.put("contentType", contentType);
+            return map;
+        }
+    }
+}
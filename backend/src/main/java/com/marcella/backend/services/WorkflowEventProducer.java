@@ -1,13 +1,20 @@
 package com.marcella.backend.services;
 
+import com.marcella.backend.nodeHandlers.NodeHandlerRegistry;
 import com.marcella.backend.workflow.NodeCompletionMessage;
 import com.marcella.backend.workflow.NodeExecutionMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
-import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -16,45 +23,26 @@ public class WorkflowEventProducer {
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
 
-    private static final Set<String> FASTAPI_NODE_TYPES = Set.of(
-            "text-generation",
-            "ai-decision",
-            "summarization",
-            "question-answer",
-            "text-classification",
-            "named-entity",
-            "translation",
-            "content-generation",
-            "search-agent",
-            "data-analyst-agent"
-    );
-
-    private static final Set<String> SPRING_NODE_TYPES = Set.of(
-            "start",
-            "action",
-            "transform",
-            "delay",
-            "trigger",
-            "calculator",
-            "currentTime",
-            "condition",
-            "googleCalendar",
-            "httpGet",
-            "httpPost",
-            "httpPut",
-            "httpDelete",
-            "gmailSend",
-            "gmailSearch",
-            "gmailMarkRead",
-            "gmailAddLabel",
-            "gmailCreateDraft",
-            "gmailReply"
-    );
+    @Lazy
+    @Autowired
+    private NodeHandlerRegistry handlerRegistry;
+
+    @Qualifier("nodeMessageKafkaTemplate")
+    @Autowired
+    private KafkaTemplate<String, Object> nodeMessageKafkaTemplate;
+
+    @Value("${workflow.priority.lanes-enabled:false}")
+    private boolean priorityLanesEnabled;
+
+    private static final ThreadLocal<Consumer<NodeCompletionMessage>> COMPLETION_INTERCEPTOR = new ThreadLocal<>();
 
     public void publishNodeExecution(NodeExecutionMessage message) {
-        String topic = determineTopicByNodeType(message.getNodeType());
+        String nodeTopic = determineTopicByNodeType(message.getNodeType());
+        String topic = priorityLanesEnabled && message.getPriority() == NodeExecutionMessage.Priority.HIGH
+                && "spring-nodes".equals(nodeTopic) ? "spring-nodes-high" : nodeTopic;
 
-        kafkaTemplate.send(topic, message.getNodeId(), message)
+        KafkaTemplate<String, Object> template = "fastapi-nodes".equals(topic) ? kafkaTemplate : nodeMessageKafkaTemplate;
+        template.send(topic, message.getNodeId(), message)
                 .thenAccept(result -> {
                     log.info("Node execution message sent to topic '{}': nodeId={}, nodeType={}",
                             topic, message.getNodeId(), message.getNodeType());
@@ -66,25 +54,44 @@ public class WorkflowEventProducer {
                 });
     }
 
-    public void publishNodeCompletion(NodeCompletionMessage message) {
-        kafkaTemplate.send("node-completion", message.getNodeId(), message);
+    public CompletableFuture<Void> publishNodeCompletion(NodeCompletionMessage message) {
+        Consumer<NodeCompletionMessage> interceptor = COMPLETION_INTERCEPTOR.get();
+        if (interceptor != null) {
+            interceptor.accept(message);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> sent = nodeMessageKafkaTemplate
+                .send("node-completion", message.getExecutionId().toString(), message)
+                .thenAccept(result -> { });
         log.info("Node completion message sent: {} with status: {}", message.getNodeId(), message.getStatus());
+        return sent;
     }
 
-    private String determineTopicByNodeType(String nodeType) {
-        String normalizedType = nodeType.toLowerCase();
-
-        if (FASTAPI_NODE_TYPES.contains(normalizedType)) {
-            log.debug("Routing node type '{}' to fastapi-nodes topic", nodeType);
-            return "fastapi-nodes";
+    public <T> T interceptCompletions(Consumer<NodeCompletionMessage> interceptor, Callable<T> action) throws Exception {
+        Consumer<NodeCompletionMessage> previous = COMPLETION_INTERCEPTOR.get();
+        COMPLETION_INTERCEPTOR.set(interceptor);
+        try {
+            return action.call();
+        } finally {
+            if (previous != null) {
+                COMPLETION_INTERCEPTOR.set(previous);
+            } else {
+                COMPLETION_INTERCEPTOR.remove();
+            }
         }
+    }
 
-        if (SPRING_NODE_TYPES.contains(normalizedType)) {
-            log.debug("Routing node type '{}' to spring-nodes topic", nodeType);
-            return "spring-nodes";
-        }
+    public boolean isFastApiNodeType(String nodeType) {
+        return handlerRegistry.isRemote(nodeType);
+    }
 
-        log.warn("Unknown node type '{}', defaulting to spring-nodes topic", nodeType);
-        return "spring-nodes";
+    public void flush() {
+        nodeMessageKafkaTemplate.flush();
+        kafkaTemplate.flush();
+    }
+
+    private String determineTopicByNodeType(String nodeType) {
+        return handlerRegistry.topicFor(nodeType);
     }
-}
\ No newline at end of file
+}
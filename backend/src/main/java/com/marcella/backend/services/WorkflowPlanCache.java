@@ -0,0 +1,193 @@
+package com.marcella.backend.services;
+
+import com.marcella.backend.entities.Workflows;
+import com.marcella.backend.nodeHandlers.NodeHandlerRegistry;
+import com.marcella.backend.repositories.WorkflowRepository;
+import com.marcella.backend.workflow.CompactDependencyGraph;
+import com.marcella.backend.workflow.CompiledWorkflowPlan;
+import com.marcella.backend.workflow.WorkflowDefinition;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WorkflowPlanCache {
+
+    @Qualifier("customStringRedisTemplate")
+    @Autowired
+    private RedisTemplate<String, String> customStringRedisTemplate;
+
+    @Value("${workflow.plan-cache.max-size:256}")
+    private int maxSize;
+
+    @Value("${workflow.plan-cache.snapshot-ttl-ms:604800000}")
+    private long snapshotTtlMs;
+
+    @Value("${workflow.fusion.enabled:false}")
+    private boolean fusionEnabled;
+
+    @Value("${workflow.fusion.node-types:}")
+    private Set<String> fusibleNodeTypes;
+
+    private final WorkflowRepository workflowRepository;
+    private final WorkflowDefinitionParser workflowDefinitionParser;
+    private final KahnAlgoService kahnService;
+    private final NodeLatencyTracker latencyTracker;
+    private final NodeHandlerRegistry handlerRegistry;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    private static final String INVALIDATION_CHANNEL = "workflow:plan:invalidate";
+    private static final String SNAPSHOT_PREFIX = "workflow:definition:";
+
+    private Map<String, CompiledWorkflowPlan> plans;
+
+    @PostConstruct
+    public void init() {
+        plans = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledWorkflowPlan> eldest) {
+                return size() > maxSize;
+            }
+        };
+
+        redisMessageListenerContainer.addMessageListener((message, pattern) -> {
+            String[] invalidation = new String(message.getBody(), StandardCharsets.UTF_8).split(":", 2);
+            evictLocal(UUID.fromString(invalidation[0]), Long.parseLong(invalidation[1]));
+        }, new ChannelTopic(INVALIDATION_CHANNEL));
+
+        log.info("Workflow plan cache initialized with max size: {}", maxSize);
+    }
+
+    public CompiledWorkflowPlan getPlan(Workflows workflow) {
+        long version = versionOf(workflow);
+        String key = cacheKey(workflow.getId(), version);
+
+        CompiledWorkflowPlan plan = lookup(key);
+        if (plan != null) {
+            return plan;
+        }
+
+        return compileAndCache(workflow);
+    }
+
+    public CompiledWorkflowPlan getPlan(UUID workflowId, Long version) {
+        if (version != null) {
+            CompiledWorkflowPlan plan = lookup(cacheKey(workflowId, version));
+            if (plan != null) {
+                return plan;
+            }
+        }
+
+        if (version != null) {
+            String snapshot = customStringRedisTemplate.opsForValue().get(snapshotKey(workflowId, version));
+            if (snapshot != null) {
+                Workflows pinned = Workflows.builder()
+                        .id(workflowId)
+                        .workflowData(snapshot)
+                        .version(version)
+                        .build();
+                return compileAndCache(pinned);
+            }
+        }
+
+        Workflows workflow = workflowRepository.findById(workflowId)
+                .orElseThrow(() -> new RuntimeException("Workflow not found: " + workflowId));
+
+        if (version != null && versionOf(workflow) != version) {
+            throw new RuntimeException("Plan for workflow " + workflowId + " version " + version
+                    + " is no longer available (current version " + versionOf(workflow) + ")");
+        }
+
+        return getPlan(workflow);
+    }
+
+    public void invalidateSuperseded(UUID workflowId, long currentVersion) {
+        evictLocal(workflowId, currentVersion);
+        customStringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, workflowId + ":" + currentVersion);
+    }
+
+    public void invalidate(UUID workflowId) {
+        invalidateSuperseded(workflowId, Long.MAX_VALUE);
+    }
+
+    private void evictLocal(UUID workflowId, long currentVersion) {
+        String prefix = workflowId + ":";
+        synchronized (plans) {
+            plans.keySet().removeIf(key -> key.startsWith(prefix)
+                    && Long.parseLong(key.substring(prefix.length())) < currentVersion);
+        }
+        log.info("Evicted compiled plans for workflow: {} older than version: {}", workflowId, currentVersion);
+    }
+
+    @Scheduled(fixedDelayString = "${workflow.priority.rerank-interval-ms:30000}")
+    public void rerankPlans() {
+        List<CompiledWorkflowPlan> cached;
+        synchronized (plans) {
+            cached = new ArrayList<>(plans.values());
+        }
+        cached.forEach(plan -> plan.rerank(latencyTracker::estimate));
+        log.debug("Re-ranked {} cached plans with current latency estimates", cached.size());
+    }
+
+    private CompiledWorkflowPlan lookup(String key) {
+        synchronized (plans) {
+            return plans.get(key);
+        }
+    }
+
+    private CompiledWorkflowPlan compileAndCache(Workflows workflow) {
+        long version = versionOf(workflow);
+
+        WorkflowDefinition definition = workflowDefinitionParser.parseWorkflowDefinition(workflow);
+        CompactDependencyGraph graph = kahnService.buildCompactDependencyGraph(definition);
+
+        CompiledWorkflowPlan plan = CompiledWorkflowPlan.compile(definition, version, graph,
+                fusionEnabled ? fusibleNodeTypes() : Set.of(), latencyTracker::estimate);
+
+        synchronized (plans) {
+            plans.put(cacheKey(workflow.getId(), version), plan);
+        }
+
+        customStringRedisTemplate.opsForValue().set(snapshotKey(workflow.getId(), version),
+                workflow.getWorkflowData(), Duration.ofMillis(snapshotTtlMs));
+
+        log.info("Compiled plan for workflow: {} version: {} with {} nodes, {} edges, {} fused segments",
+                workflow.getId(), version, graph.size(), graph.edgeCount(), plan.getFusedSegments().size());
+        return plan;
+    }
+
+    private Set<String> fusibleNodeTypes() {
+        return fusibleNodeTypes.isEmpty() ? handlerRegistry.getPureNodeTypes() : fusibleNodeTypes;
+    }
+
+    private static long versionOf(Workflows workflow) {
+        return workflow.getVersion() != null ? workflow.getVersion() : 0L;
+    }
+
+    private static String cacheKey(UUID workflowId, long version) {
+        return workflowId + ":" + version;
+    }
+
+    private static String snapshotKey(UUID workflowId, long version) {
+        return SNAPSHOT_PREFIX + workflowId + ":" + version;
+    }
+}
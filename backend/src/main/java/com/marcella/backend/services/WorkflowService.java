@@ -31,6 +31,7 @@ public class WorkflowService {
     private final WorkflowRepository workflowRepository;
     private final WorkflowMapper workflowMapper;
     private final UserRepository userRepository;
+    private final WorkflowPlanCache workflowPlanCache;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     public WorkflowDto createWorkflow(CreateWorkflowRequest request, UUID userId) {
@@ -109,6 +110,7 @@ public class WorkflowService {
             workflow.setVersion(workflow.getVersion() + 1);
 
             workflow = workflowRepository.save(workflow);
+            workflowPlanCache.invalidateSuperseded(workflowId, workflow.getVersion());
 
             log.info("Updated workflow: {} to version: {}", workflowId, workflow.getVersion());
             return workflowMapper.toDto(workflow);
@@ -128,6 +130,7 @@ public class WorkflowService {
 
         workflow.setActive(false);
         workflowRepository.save(workflow);
+        workflowPlanCache.invalidate(workflowId);
 
         log.info("Deleted workflow: {} for user: {}", workflowId, userId);
     }
@@ -0,0 +1,121 @@
+package com.marcella.backend.services;
+
+import com.marcella.backend.workflow.NodeCompletionMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WorkflowTimerService {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final WorkflowEventProducer eventProducer;
+
+    @Qualifier("customStringRedisTemplate")
+    @Autowired
+    private RedisTemplate<String, String> customStringRedisTemplate;
+
+    @Value("${workflow.timers.batch-size:100}")
+    private int batchSize;
+
+    @Value("${workflow.timers.lease-ms:30000}")
+    private long leaseMs;
+
+    @Value("${workflow.timers.payload-retention-ms:86400000}")
+    private long payloadRetentionMs;
+
+    private static final String TIMERS_KEY = "workflow:timers";
+    private static final String PROCESSING_KEY = "workflow:timers:processing";
+    private static final String TIMER_PAYLOAD_PREFIX = "workflow:timer:payload:";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CLAIM_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/timer-claim.lua"), List.class);
+
+    public String schedule(NodeCompletionMessage completion, Instant fireAt) {
+        String timerId = UUID.randomUUID().toString();
+
+        long untilDue = Math.max(0, fireAt.toEpochMilli() - System.currentTimeMillis());
+        redisTemplate.opsForValue().set(payloadKey(timerId), completion,
+                Duration.ofMillis(untilDue + payloadRetentionMs));
+        customStringRedisTemplate.opsForZSet().add(TIMERS_KEY, timerId, fireAt.toEpochMilli());
+
+        log.info("Scheduled timer {} for node: {} in execution: {} at {}",
+                timerId, completion.getNodeId(), completion.getExecutionId(), fireAt);
+        return timerId;
+    }
+
+    @Scheduled(fixedDelayString = "${workflow.timers.poll-interval-ms:500}")
+    public void fireDueTimers() {
+        long now = System.currentTimeMillis();
+        List<?> claimed = customStringRedisTemplate.execute(CLAIM_SCRIPT, List.of(TIMERS_KEY, PROCESSING_KEY),
+                String.valueOf(now), String.valueOf(now + leaseMs), String.valueOf(batchSize));
+        if (claimed == null || claimed.isEmpty()) {
+            return;
+        }
+
+        for (Object member : claimed) {
+            String timerId = String.valueOf(member);
+            try {
+                fire(timerId, now);
+            } catch (Exception e) {
+                log.error("Failed to fire timer {}, it will be retried when its lease expires", timerId, e);
+            }
+        }
+    }
+
+    private void fire(String timerId, long now) {
+        Object payload = redisTemplate.opsForValue().get(payloadKey(timerId));
+        if (!(payload instanceof NodeCompletionMessage completion)) {
+            log.warn("Timer {} has no completion payload, dropping", timerId);
+            customStringRedisTemplate.opsForZSet().remove(PROCESSING_KEY, timerId);
+            return;
+        }
+
+        if (completion.getTimestamp() != null) {
+            completion.setProcessingTime(now - completion.getTimestamp().toEpochMilli());
+        }
+        completion.setTimestamp(Instant.ofEpochMilli(now));
+
+        eventProducer.publishNodeCompletion(completion).whenComplete((result, ex) -> {
+            if (ex != null) {
+                log.error("Failed to publish completion for timer {}, rescheduling", timerId, ex);
+                reschedule(timerId, System.currentTimeMillis() + 1000);
+                return;
+            }
+
+            redisTemplate.delete(payloadKey(timerId));
+            customStringRedisTemplate.opsForZSet().remove(PROCESSING_KEY, timerId);
+            log.info("Timer {} fired for node: {} in execution: {}",
+                    timerId, completion.getNodeId(), completion.getExecutionId());
+        });
+    }
+
+    private void reschedule(String timerId, long fireAt) {
+        try {
+            customStringRedisTemplate.opsForZSet().add(TIMERS_KEY, timerId, fireAt);
+            customStringRedisTemplate.opsForZSet().remove(PROCESSING_KEY, timerId);
+        } catch (Exception e) {
+            log.warn("Failed to reschedule timer {}, it will be retried when its lease expires: {}",
+                    timerId, e.getMessage());
+        }
+    }
+
+    private static String payloadKey(String timerId) {
+        return TIMER_PAYLOAD_PREFIX + timerId;
+    }
+}
@@ -0,0 +1,196 @@
+package com.marcella.backend.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class JsonProjection {
+
+    private static final Pattern JSON_PATH_SEGMENT = Pattern.compile("\\.([^.\\[]+)|\\['([^']*)'\\]|\\[(\\d+|\\*)\\]");
+
+    private final Map<String, List<String>> selectors;
+    private final Map<String, Boolean> multiValued;
+
+    private JsonProjection(Map<String, String> expressions) {
+        this.selectors = new LinkedHashMap<>();
+        this.multiValued = new HashMap<>();
+        expressions.forEach((alias, expression) -> {
+            List<String> segments = parse(expression);
+            selectors.put(alias, segments);
+            multiValued.put(alias, segments.contains(null));
+        });
+    }
+
+    public static JsonProjection compile(Map<String, String> expressions) {
+        return new JsonProjection(expressions);
+    }
+
+    public Map<String, Object> extract(ObjectMapper objectMapper, String json) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(json)) {
+            return extract(objectMapper, parser);
+        }
+    }
+
+    public Map<String, Object> extract(ObjectMapper objectMapper, InputStream json) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(json)) {
+            return extract(objectMapper, parser);
+        }
+    }
+
+    private Map<String, Object> extract(ObjectMapper objectMapper, JsonParser parser) throws IOException {
+        Map<String, List<JsonNode>> matches = new LinkedHashMap<>();
+        selectors.keySet().forEach(alias -> matches.put(alias, new ArrayList<>()));
+
+        if (parser.nextToken() != null) {
+            visit(parser, new ArrayList<>(), matches);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        matches.forEach((alias, nodes) -> {
+            if (multiValued.get(alias)) {
+                result.put(alias, nodes.stream().map(node -> objectMapper.convertValue(node, Object.class)).toList());
+            } else {
+                result.put(alias, nodes.isEmpty() ? null : objectMapper.convertValue(nodes.get(0), Object.class));
+            }
+        });
+        return result;
+    }
+
+    private void visit(JsonParser parser, List<String> path, Map<String, List<JsonNode>> matches) throws IOException {
+        boolean fullMatch = false;
+        boolean prefixMatch = false;
+        for (List<String> segments : selectors.values()) {
+            if (matches(segments, path)) {
+                if (segments.size() == path.size()) {
+                    fullMatch = true;
+                } else {
+                    prefixMatch = true;
+                }
+            }
+        }
+
+        if (fullMatch) {
+            JsonNode node = parser.readValueAsTree();
+            if (node == null) {
+                return;
+            }
+            selectors.forEach((alias, segments) -> {
+                if (matches(segments, path)) {
+                    collect(node, segments.subList(path.size(), segments.size()), matches.get(alias));
+                }
+            });
+            return;
+        }
+
+        if (!prefixMatch) {
+            parser.skipChildren();
+            return;
+        }
+
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                path.add(parser.currentName());
+                parser.nextToken();
+                visit(parser, path, matches);
+                path.remove(path.size() - 1);
+            }
+        } else if (token == JsonToken.START_ARRAY) {
+            int index = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                path.add(String.valueOf(index++));
+                visit(parser, path, matches);
+                path.remove(path.size() - 1);
+            }
+        }
+    }
+
+    private static void collect(JsonNode node, List<String> remaining, List<JsonNode> into) {
+        if (remaining.isEmpty()) {
+            into.add(node);
+            return;
+        }
+
+        String segment = remaining.get(0);
+        List<String> rest = remaining.subList(1, remaining.size());
+        if (segment == null) {
+            node.forEach(child -> collect(child, rest, into));
+            return;
+        }
+
+        JsonNode child = node.isArray() && segment.chars().allMatch(Character::isDigit)
+                ? node.get(Integer.parseInt(segment))
+                : node.get(segment);
+        if (child != null) {
+            collect(child, rest, into);
+        }
+    }
+
+    private static boolean matches(List<String> segments, List<String> path) {
+        if (segments.size() < path.size()) {
+            return false;
+        }
+        for (int i = 0; i < path.size(); i++) {
+            String segment = segments.get(i);
+            if (segment != null && !segment.equals(path.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static String defaultAlias(String expression) {
+        List<String> segments = parse(expression);
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            String segment = segments.get(i);
+            if (segment != null && !segment.chars().allMatch(Character::isDigit)) {
+                return segment;
+            }
+        }
+        return expression;
+    }
+
+    static List<String> parse(String expression) {
+        String trimmed = expression.trim();
+        List<String> segments = new ArrayList<>();
+
+        if (trimmed.isEmpty() || trimmed.equals("/") || trimmed.equals("$")) {
+            return segments;
+        }
+
+        if (trimmed.startsWith("/")) {
+            for (String token : trimmed.substring(1).split("/", -1)) {
+                segments.add(token.replace("~1", "/").replace("~0", "~"));
+            }
+            return segments;
+        }
+
+        if (!trimmed.startsWith("$")) {
+            throw new IllegalArgumentException("Unsupported extract expression: " + expression);
+        }
+
+        String rest = trimmed.substring(1);
+        Matcher matcher = JSON_PATH_SEGMENT.matcher(rest);
+        int position = 0;
+        while (position < rest.length()) {
+            if (!matcher.find(position) || matcher.start() != position) {
+                throw new IllegalArgumentException("Unsupported extract expression: " + expression);
+            }
+            if (matcher.group(2) != null) {
+                segments.add(matcher.group(2));
+            } else {
+                String name = matcher.group(1) != null ? matcher.group(1) : matcher.group(3);
+                segments.add("*".equals(name) ? null : name);
+            }
+            position = matcher.end();
+        }
+        return segments;
+    }
+}
@@ -0,0 +1,153 @@
+package com.marcella.backend.workflow;
+
+import java.util.*;
+import java.util.function.IntConsumer;
+
+public final class CompactDependencyGraph {
+    private final String[] nodeIds;
+    private final Map<String, Integer> nodeIndex;
+    private final int[] successorOffsets;
+    private final int[] successorIndices;
+    private final int[] predecessorOffsets;
+    private final int[] predecessorIndices;
+
+    private CompactDependencyGraph(String[] nodeIds, Map<String, Integer> nodeIndex,
+                                   int[] successorOffsets, int[] successorIndices,
+                                   int[] predecessorOffsets, int[] predecessorIndices) {
+        this.nodeIds = nodeIds;
+        this.nodeIndex = nodeIndex;
+        this.successorOffsets = successorOffsets;
+        this.successorIndices = successorIndices;
+        this.predecessorOffsets = predecessorOffsets;
+        this.predecessorIndices = predecessorIndices;
+    }
+
+    public static CompactDependencyGraph from(List<String> nodeOrder, DependencyGraph graph) {
+        String[] ids = nodeOrder.toArray(new String[0]);
+        Map<String, Integer> index = indexNodes(ids);
+
+        int[][] successors = toCsr(ids, index, graph.getOutgoingEdges());
+        int[][] predecessors = toCsr(ids, index, graph.getIncomingEdges());
+
+        return new CompactDependencyGraph(ids, index,
+                successors[0], successors[1], predecessors[0], predecessors[1]);
+    }
+
+    public int size() {
+        return nodeIds.length;
+    }
+
+    public int edgeCount() {
+        return successorIndices.length;
+    }
+
+    public int indexOf(String nodeId) {
+        Integer index = nodeIndex.get(nodeId);
+        return index != null ? index : -1;
+    }
+
+    public String nodeId(int index) {
+        return nodeIds[index];
+    }
+
+    public int predecessorCount(int index) {
+        return predecessorOffsets[index + 1] - predecessorOffsets[index];
+    }
+
+    public int successorCount(int index) {
+        return successorOffsets[index + 1] - successorOffsets[index];
+    }
+
+    public void forEachSuccessor(int index, IntConsumer action) {
+        for (int i = successorOffsets[index]; i < successorOffsets[index + 1]; i++) {
+            action.accept(successorIndices[i]);
+        }
+    }
+
+    public void forEachPredecessor(int index, IntConsumer action) {
+        for (int i = predecessorOffsets[index]; i < predecessorOffsets[index + 1]; i++) {
+            action.accept(predecessorIndices[i]);
+        }
+    }
+
+    public List<String> successorIds(String nodeId) {
+        int index = indexOf(nodeId);
+        return index < 0 ? List.of() : toIds(successorOffsets, successorIndices, index);
+    }
+
+    public List<String> predecessorIds(String nodeId) {
+        int index = indexOf(nodeId);
+        return index < 0 ? List.of() : toIds(predecessorOffsets, predecessorIndices, index);
+    }
+
+    public int[] topologicalOrder() {
+        int[] remaining = new int[nodeIds.length];
+        int[] order = new int[nodeIds.length];
+        int head = 0;
+        int tail = 0;
+
+        for (int i = 0; i < nodeIds.length; i++) {
+            remaining[i] = predecessorCount(i);
+            if (remaining[i] == 0) {
+                order[tail++] = i;
+            }
+        }
+
+        while (head < tail) {
+            int current = order[head++];
+            for (int i = successorOffsets[current]; i < successorOffsets[current + 1]; i++) {
+                int successor = successorIndices[i];
+                if (--remaining[successor] == 0) {
+                    order[tail++] = successor;
+                }
+            }
+        }
+        return Arrays.copyOf(order, tail);
+    }
+
+    public List<String> initialReadyNodes() {
+        List<String> ready = new ArrayList<>();
+        for (int i = 0; i < nodeIds.length; i++) {
+            if (predecessorCount(i) == 0) {
+                ready.add(nodeIds[i]);
+            }
+        }
+        return ready;
+    }
+
+    private static Map<String, Integer> indexNodes(String[] ids) {
+        Map<String, Integer> index = new HashMap<>(ids.length * 2);
+        for (int i = 0; i < ids.length; i++) {
+            index.put(ids[i], i);
+        }
+        return Collections.unmodifiableMap(index);
+    }
+
+    private static int[][] toCsr(String[] ids, Map<String, Integer> index, Map<String, List<String>> edges) {
+        int[] offsets = new int[ids.length + 1];
+        for (int i = 0; i < ids.length; i++) {
+            offsets[i + 1] = offsets[i] + edges.getOrDefault(ids[i], List.of()).size();
+        }
+
+        int[] targets = new int[offsets[ids.length]];
+        for (int i = 0; i < ids.length; i++) {
+            int position = offsets[i];
+            for (String target : edges.getOrDefault(ids[i], List.of())) {
+                Integer targetIndex = index.get(target);
+                if (targetIndex == null) {
+                    throw new IllegalArgumentException("Edge references unknown node: " + target);
+                }
+                targets[position++] = targetIndex;
+            }
+        }
+        return new int[][]{offsets, targets};
+    }
+
+    private List<String> toIds(int[] offsets, int[] indices, int index) {
+        List<String> ids = new ArrayList<>(offsets[index + 1] - offsets[index]);
+        for (int i = offsets[index]; i < offsets[index + 1]; i++) {
+            ids.add(nodeIds[indices[i]]);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,308 @@
+package com.marcella.backend.workflow;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.*;
+import java.util.function.ToDoubleFunction;
+
+@Getter
+@Builder
+public class CompiledWorkflowPlan {
+    private final UUID workflowId;
+    private final long version;
+    private final String name;
+    private final Map<String, WorkflowNode> nodes;
+    private final CompactDependencyGraph graph;
+    private final List<String> initialReadyNodes;
+    private final Map<String, List<WorkflowNode>> fusedSegments;
+    @Getter(AccessLevel.NONE)
+    private volatile Ranking ranking;
+    private final Map<String, Map<String, SuccessorResolution>> branchResolutions;
+    private final Map<String, List<String>> ancestors;
+
+    private static final double CRITICAL_SLACK_RATIO = 0.05;
+    private static final double NORMAL_SLACK_RATIO = 0.5;
+    private static final String CONDITION_TYPE = "condition";
+    private static final List<String> BRANCHES = List.of("true", "false");
+
+    public static CompiledWorkflowPlan compile(WorkflowDefinition definition, long version,
+                                               CompactDependencyGraph graph) {
+        return compile(definition, version, graph, Set.of(), nodeType -> 1.0);
+    }
+
+    public static CompiledWorkflowPlan compile(WorkflowDefinition definition, long version,
+                                               CompactDependencyGraph graph, Set<String> fusibleTypes,
+                                               ToDoubleFunction<String> estimatedLatency) {
+        Map<String, WorkflowNode> nodes = new LinkedHashMap<>();
+        definition.getNodes().forEach(node -> nodes.put(node.getId(), node));
+
+        Map<String, Map<String, SuccessorResolution>> branchResolutions = resolveBranches(definition, nodes, graph);
+
+        return CompiledWorkflowPlan.builder()
+                .workflowId(definition.getId())
+                .version(version)
+                .name(definition.getName())
+                .nodes(Collections.unmodifiableMap(nodes))
+                .graph(graph)
+                .initialReadyNodes(List.copyOf(graph.initialReadyNodes()))
+                .fusedSegments(findFusedSegments(nodes, graph, fusibleTypes, branchResolutions.keySet()))
+                .ranking(rankNodes(nodes, graph, estimatedLatency))
+                .branchResolutions(branchResolutions)
+                .ancestors(findAncestors(graph))
+                .build();
+    }
+
+    private static Map<String, List<String>> findAncestors(CompactDependencyGraph graph) {
+        int[] order = graph.topologicalOrder();
+        int[] position = new int[graph.size()];
+        for (int k = 0; k < order.length; k++) {
+            position[order[k]] = k;
+        }
+
+        BitSet[] reachedFrom = new BitSet[graph.size()];
+        Map<String, List<String>> ancestors = new HashMap<>();
+        for (int node : order) {
+            BitSet upstream = new BitSet(order.length);
+            graph.forEachPredecessor(node, predecessor -> {
+                upstream.or(reachedFrom[predecessor]);
+                upstream.set(position[predecessor]);
+            });
+            reachedFrom[node] = upstream;
+
+            List<String> ids = new ArrayList<>(upstream.cardinality());
+            upstream.stream().forEach(k -> ids.add(graph.nodeId(order[k])));
+            ancestors.put(graph.nodeId(node), List.copyOf(ids));
+        }
+        return Collections.unmodifiableMap(ancestors);
+    }
+
+    public List<String> getAncestors(String nodeId) {
+        return ancestors.getOrDefault(nodeId, List.of());
+    }
+
+    private static Map<String, Map<String, SuccessorResolution>> resolveBranches(WorkflowDefinition definition,
+                                                                                 Map<String, WorkflowNode> nodes,
+                                                                                 CompactDependencyGraph graph) {
+        Map<String, Map<String, Set<String>>> handlesBySource = new HashMap<>();
+        if (definition.getEdges() != null) {
+            definition.getEdges().forEach(edge -> handlesBySource
+                    .computeIfAbsent(edge.getSource(), source -> new HashMap<>())
+                    .computeIfAbsent(edge.getTarget(), target -> new HashSet<>())
+                    .add(edge.getSourceHandle() != null ? edge.getSourceHandle().toLowerCase() : ""));
+        }
+
+        Map<String, Map<String, SuccessorResolution>> resolutions = new HashMap<>();
+        nodes.values().forEach(node -> {
+            Map<String, Set<String>> handlesByTarget = handlesBySource.getOrDefault(node.getId(), Map.of());
+            if (!CONDITION_TYPE.equalsIgnoreCase(node.getType()) || handlesByTarget.values().stream()
+                    .flatMap(Set::stream).noneMatch(BRANCHES::contains)) {
+                return;
+            }
+
+            List<String> successors = graph.successorIds(node.getId());
+            Map<String, SuccessorResolution> byBranch = new HashMap<>();
+            for (String branch : BRANCHES) {
+                List<String> live = new ArrayList<>();
+                List<String> dead = new ArrayList<>();
+                for (String successor : successors) {
+                    Set<String> handles = handlesByTarget.getOrDefault(successor, Set.of());
+                    if (!handles.isEmpty() && BRANCHES.containsAll(handles) && !handles.contains(branch)) {
+                        dead.add(successor);
+                    } else {
+                        live.add(successor);
+                    }
+                }
+
+                byBranch.put(branch, SuccessorResolution.builder()
+                        .liveSuccessors(List.copyOf(live))
+                        .deadSuccessors(List.copyOf(dead))
+                        .deadPathSuccessors(reachableSuccessors(graph, dead))
+                        .build());
+            }
+            resolutions.put(node.getId(), Collections.unmodifiableMap(byBranch));
+        });
+        return Collections.unmodifiableMap(resolutions);
+    }
+
+    private static Map<String, List<String>> reachableSuccessors(CompactDependencyGraph graph, List<String> roots) {
+        Map<String, List<String>> reachable = new LinkedHashMap<>();
+        Deque<String> queue = new ArrayDeque<>(roots);
+        while (!queue.isEmpty()) {
+            String nodeId = queue.poll();
+            if (reachable.containsKey(nodeId)) {
+                continue;
+            }
+            List<String> successors = graph.successorIds(nodeId);
+            reachable.put(nodeId, successors);
+            queue.addAll(successors);
+        }
+        return Collections.unmodifiableMap(reachable);
+    }
+
+    public SuccessorResolution resolveSuccessors(NodeCompletionMessage completion) {
+        String nodeId = completion.getNodeId();
+        Map<String, SuccessorResolution> byBranch = branchResolutions.get(nodeId);
+        if (byBranch == null) {
+            return SuccessorResolution.allLive(getSuccessors(nodeId));
+        }
+
+        String branch = "FAILED".equals(completion.getStatus()) ? null : takenBranch(completion.getOutput());
+        if (branch == null) {
+            throw new IllegalStateException("Condition node " + nodeId + " did not evaluate to a branch"
+                    + (completion.getError() != null ? ": " + completion.getError() : ""));
+        }
+        return byBranch.get(branch);
+    }
+
+    private static String takenBranch(Map<String, Object> output) {
+        if (output == null) {
+            return null;
+        }
+        Object branch = output.containsKey("branch") ? output.get("branch") : output.get("condition_result");
+        String value = String.valueOf(branch).toLowerCase(Locale.ROOT);
+        return BRANCHES.contains(value) ? value : null;
+    }
+
+    public void rerank(ToDoubleFunction<String> estimatedLatency) {
+        ranking = rankNodes(nodes, graph, estimatedLatency);
+    }
+
+    private static Ranking rankNodes(Map<String, WorkflowNode> nodes, CompactDependencyGraph graph,
+                                     ToDoubleFunction<String> estimatedLatency) {
+        Map<String, Double> criticalPathLengths = new HashMap<>();
+        Map<String, NodeExecutionMessage.Priority> priorities = new HashMap<>();
+        int[] order = graph.topologicalOrder();
+        double[] weight = new double[graph.size()];
+        double[] remaining = new double[graph.size()];
+        double[] elapsed = new double[graph.size()];
+
+        for (int i = 0; i < graph.size(); i++) {
+            weight[i] = Math.max(0.0, estimatedLatency.applyAsDouble(nodes.get(graph.nodeId(i)).getType()));
+        }
+
+        for (int k = order.length - 1; k >= 0; k--) {
+            int node = order[k];
+            double[] longest = new double[1];
+            graph.forEachSuccessor(node, successor -> longest[0] = Math.max(longest[0], remaining[successor]));
+            remaining[node] = weight[node] + longest[0];
+        }
+
+        double makespan = 0.0;
+        for (int node : order) {
+            double[] longest = new double[1];
+            graph.forEachPredecessor(node, predecessor -> longest[0] = Math.max(longest[0], elapsed[predecessor]));
+            elapsed[node] = weight[node] + longest[0];
+            makespan = Math.max(makespan, elapsed[node]);
+        }
+
+        for (int node : order) {
+            double slack = makespan - (elapsed[node] + remaining[node] - weight[node]);
+            NodeExecutionMessage.Priority priority;
+            if (slack <= makespan * CRITICAL_SLACK_RATIO) {
+                priority = NodeExecutionMessage.Priority.HIGH;
+            } else if (slack <= makespan * NORMAL_SLACK_RATIO) {
+                priority = NodeExecutionMessage.Priority.NORMAL;
+            } else {
+                priority = NodeExecutionMessage.Priority.LOW;
+            }
+
+            criticalPathLengths.put(graph.nodeId(node), remaining[node]);
+            priorities.put(graph.nodeId(node), priority);
+        }
+        return new Ranking(Collections.unmodifiableMap(criticalPathLengths), Collections.unmodifiableMap(priorities));
+    }
+
+    public double getCriticalPathLength(String nodeId) {
+        return ranking.criticalPathLengths.getOrDefault(nodeId, 0.0);
+    }
+
+    public NodeExecutionMessage.Priority getPriority(String nodeId) {
+        return ranking.priorities.getOrDefault(nodeId, NodeExecutionMessage.Priority.NORMAL);
+    }
+
+    private static Map<String, List<WorkflowNode>> findFusedSegments(Map<String, WorkflowNode> nodes,
+                                                                     CompactDependencyGraph graph,
+                                                                     Set<String> fusibleTypes,
+                                                                     Set<String> branchingNodes) {
+        if (fusibleTypes.isEmpty()) {
+            return Map.of();
+        }
+
+        boolean[] fusible = new boolean[graph.size()];
+        boolean[] branching = new boolean[graph.size()];
+        for (int i = 0; i < graph.size(); i++) {
+            fusible[i] = fusibleTypes.contains(nodes.get(graph.nodeId(i)).getType());
+            branching[i] = branchingNodes.contains(graph.nodeId(i));
+        }
+
+        Map<String, List<WorkflowNode>> segments = new HashMap<>();
+        for (int head = 0; head < graph.size(); head++) {
+            if (!fusible[head] || continuesChain(graph, fusible, branching, head)) {
+                continue;
+            }
+
+            List<WorkflowNode> segment = new ArrayList<>();
+            segment.add(nodes.get(graph.nodeId(head)));
+
+            int current = head;
+            while (!branching[current] && graph.successorCount(current) == 1) {
+                int next = singleSuccessor(graph, current);
+                if (!fusible[next] || graph.predecessorCount(next) != 1) {
+                    break;
+                }
+                segment.add(nodes.get(graph.nodeId(next)));
+                current = next;
+            }
+
+            if (segment.size() > 1) {
+                segments.put(graph.nodeId(head), List.copyOf(segment));
+            }
+        }
+        return Collections.unmodifiableMap(segments);
+    }
+
+    private static boolean continuesChain(CompactDependencyGraph graph, boolean[] fusible, boolean[] branching,
+                                          int index) {
+        if (graph.predecessorCount(index) != 1) {
+            return false;
+        }
+        int[] predecessor = new int[1];
+        graph.forEachPredecessor(index, p -> predecessor[0] = p);
+        return fusible[predecessor[0]] && !branching[predecessor[0]] && graph.successorCount(predecessor[0]) == 1;
+    }
+
+    private static int singleSuccessor(CompactDependencyGraph graph, int index) {
+        int[] successor = new int[1];
+        graph.forEachSuccessor(index, s -> successor[0] = s);
+        return successor[0];
+    }
+
+    public List<WorkflowNode> getFusedSegment(String headNodeId) {
+        return fusedSegments.get(headNodeId);
+    }
+
+    public WorkflowNode getNode(String nodeId) {
+        return nodes.get(nodeId);
+    }
+
+    public boolean containsNode(String nodeId) {
+        return nodes.containsKey(nodeId);
+    }
+
+    public List<String> getDependencies(String nodeId) {
+        return graph.predecessorIds(nodeId);
+    }
+
+    public List<String> getSuccessors(String nodeId) {
+        return graph.successorIds(nodeId);
+    }
+
+    @AllArgsConstructor
+    private static class Ranking {
+        private final Map<String, Double> criticalPathLengths;
+        private final Map<String, NodeExecutionMessage.Priority> priorities;
+    }
+}
@@ -24,4 +24,5 @@ public class NodeCompletionMessage {
     private Instant timestamp;
     private long processingTime;
     private String service = "spring";
+    private Map<String, Map<String, Object>> segmentOutputs;
 }
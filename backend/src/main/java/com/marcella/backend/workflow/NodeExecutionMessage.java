@@ -17,14 +17,19 @@ import java.util.UUID;
 public class NodeExecutionMessage {
     private UUID executionId;
     private UUID workflowId;
+    private Long workflowVersion;
+    private Long contextVersion;
     private String nodeId;
     private String nodeType;
     private Map<String, Object> nodeData;
     private Map<String, Object> context;
     private List<String> dependencies;
+    private List<String> ancestors;
     private Instant timestamp;
     private Priority priority;
     private String googleAccessToken;
+    private List<WorkflowNode> segment;
+    private Map<String, Object> globalVariables;
 
     public enum Priority {
         HIGH, NORMAL, LOW
@@ -0,0 +1,23 @@
+package com.marcella.backend.workflow;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Builder
+public class SuccessorResolution {
+    private final List<String> liveSuccessors;
+    private final List<String> deadSuccessors;
+    private final Map<String, List<String>> deadPathSuccessors;
+
+    public static SuccessorResolution allLive(List<String> successors) {
+        return SuccessorResolution.builder()
+                .liveSuccessors(successors)
+                .deadSuccessors(List.of())
+                .deadPathSuccessors(Map.of())
+                .build();
+    }
+}
@@ -0,0 +1,103 @@
+-- KEYS[1] pending in-degree hash, KEYS[2] completed node set, KEYS[3] node output hash,
+-- KEYS[4] live incoming edge count hash, KEYS[5] skipped node set
+-- ARGV[1] ttl seconds, ARGV[2] number of completed nodes n,
+-- ARGV[3..2+2n] completed node id / serialized output pairs (empty output for none),
+-- then live successor count followed by live successor ids,
+-- then dead successor count followed by dead successor ids,
+-- then dead path entry count followed by entries of node id, successor count, successor ids
+-- Returns { complete flag, duplicate flag, ready count, ready node ids..., skipped node ids... }
+
+local ttl = tonumber(ARGV[1])
+local completedCount = tonumber(ARGV[2])
+
+if redis.call('SADD', KEYS[2], ARGV[3]) == 0 then
+    return { '0', '1', '0' }
+end
+
+for i = 0, completedCount - 1 do
+    local nodeId = ARGV[3 + 2 * i]
+    local output = ARGV[4 + 2 * i]
+    if i > 0 then
+        redis.call('SADD', KEYS[2], nodeId)
+    end
+    if output ~= '' then
+        redis.call('HSET', KEYS[3], nodeId, output)
+    end
+end
+
+local position = 3 + 2 * completedCount
+local liveCount = tonumber(ARGV[position])
+local liveStart = position + 1
+position = liveStart + liveCount
+local deadCount = tonumber(ARGV[position])
+local deadStart = position + 1
+position = deadStart + deadCount
+
+local deadPaths = {}
+local entryCount = tonumber(ARGV[position])
+position = position + 1
+for _ = 1, entryCount do
+    local nodeId = ARGV[position]
+    local successorCount = tonumber(ARGV[position + 1])
+    local successors = {}
+    for j = 1, successorCount do
+        successors[j] = ARGV[position + 1 + j]
+    end
+    deadPaths[nodeId] = successors
+    position = position + 2 + successorCount
+end
+
+local ready = {}
+local skipped = {}
+local deadQueue = {}
+
+local function resolve(target, live)
+    if live then
+        redis.call('HINCRBY', KEYS[4], target, 1)
+    end
+    if redis.call('HINCRBY', KEYS[1], target, -1) == 0 then
+        if live or tonumber(redis.call('HGET', KEYS[4], target) or '0') > 0 then
+            table.insert(ready, target)
+        else
+            table.insert(deadQueue, target)
+        end
+    end
+end
+
+for i = liveStart, liveStart + liveCount - 1 do
+    resolve(ARGV[i], true)
+end
+for i = deadStart, deadStart + deadCount - 1 do
+    resolve(ARGV[i], false)
+end
+
+local head = 1
+while head <= #deadQueue do
+    local nodeId = deadQueue[head]
+    head = head + 1
+    if redis.call('SADD', KEYS[2], nodeId) == 1 then
+        redis.call('SADD', KEYS[5], nodeId)
+        table.insert(skipped, nodeId)
+        for _, successor in ipairs(deadPaths[nodeId] or {}) do
+            resolve(successor, false)
+        end
+    end
+end
+
+for i = 2, 5 do
+    redis.call('EXPIRE', KEYS[i], ttl)
+end
+
+local result = { '0', '0', tostring(#ready) }
+for _, nodeId in ipairs(ready) do
+    table.insert(result, nodeId)
+end
+for _, nodeId in ipairs(skipped) do
+    table.insert(result, nodeId)
+end
+
+if redis.call('SCARD', KEYS[2]) >= redis.call('HLEN', KEYS[1]) then
+    result[1] = '1'
+end
+
+return result
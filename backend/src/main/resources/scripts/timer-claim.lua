@@ -0,0 +1,22 @@
+-- KEYS[1] due timer zset, KEYS[2] in-flight timer zset scored by lease expiry
+-- ARGV[1] now millis, ARGV[2] lease expiry millis, ARGV[3] batch size
+-- Re-queues timers whose lease expired without an acknowledgement, then
+-- moves up to batch size due timers into the in-flight set.
+-- Returns the claimed timer ids.
+
+local now = tonumber(ARGV[1])
+local batchSize = tonumber(ARGV[3])
+
+local expired = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', now, 'LIMIT', 0, batchSize)
+for _, timerId in ipairs(expired) do
+    redis.call('ZREM', KEYS[2], timerId)
+    redis.call('ZADD', KEYS[1], now, timerId)
+end
+
+local due = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', now, 'LIMIT', 0, batchSize)
+for _, timerId in ipairs(due) do
+    redis.call('ZREM', KEYS[1], timerId)
+    redis.call('ZADD', KEYS[2], ARGV[2], timerId)
+end
+
+return due
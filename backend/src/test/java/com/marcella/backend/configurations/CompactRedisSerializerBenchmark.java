@@ -0,0 +1,117 @@
+package com.marcella.backend.configurations;
+
+import com.marcella.backend.workflow.ExecutionContext;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompactRedisSerializerBenchmark {
+
+    @Param({"JSON", "SMILE", "CBOR"})
+    private CompactRedisSerializer.Format format;
+
+    @Param({"false", "true"})
+    private boolean compress;
+
+    @Param({"10", "100"})
+    private int nodeCount;
+
+    private CompactRedisSerializer serializer;
+    private ExecutionContext context;
+    private Map<String, Object> nodeOutput;
+    private byte[] serializedContext;
+    private byte[] serializedOutput;
+
+    @Setup
+    public void setUp() {
+        serializer = new CompactRedisSerializer(format, compress, 1024);
+        context = representativeContext(nodeCount);
+        nodeOutput = representativeOutput(0);
+
+        serializedContext = serializer.serialize(context);
+        serializedOutput = serializer.serialize(nodeOutput);
+    }
+
+    @Benchmark
+    public byte[] serializeContext() {
+        return serializer.serialize(context);
+    }
+
+    @Benchmark
+    public Object deserializeContext() {
+        return serializer.deserialize(serializedContext);
+    }
+
+    @Benchmark
+    public void roundTripNodeOutput(Blackhole blackhole) {
+        blackhole.consume(serializer.deserialize(serializer.serialize(nodeOutput)));
+    }
+
+    private static ExecutionContext representativeContext(int nodeCount) {
+        Map<String, Object> globals = new HashMap<>();
+        globals.put("userEmail", "someone@example.com");
+        globals.put("retryCount", 3);
+        globals.put("threshold", 0.75);
+        globals.put("tags", new ArrayList<>(List.of("billing", "priority", "eu-west")));
+
+        Map<String, Map<String, Object>> outputs = new HashMap<>();
+        for (int i = 0; i < nodeCount; i++) {
+            outputs.put("node-" + i, representativeOutput(i));
+        }
+
+        return ExecutionContext.builder()
+                .executionId(UUID.randomUUID())
+                .workflowId(UUID.randomUUID())
+                .workflowVersion(7L)
+                .contextVersion(1L)
+                .userId(UUID.randomUUID())
+                .globalVariables(globals)
+                .nodeOutputs(outputs)
+                .requestedReturnVariables(new ArrayList<>(List.of("result", "status")))
+                .status(ExecutionContext.ExecutionStatus.RUNNING)
+                .startTime(Instant.now())
+                .build();
+    }
+
+    private static Map<String, Object> representativeOutput(int index) {
+        Map<String, Object> headers = new HashMap<>();
+        headers.put("content-type", "application/json");
+        headers.put("x-request-id", UUID.randomUUID().toString());
+
+        List<Object> items = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("id", i);
+            item.put("name", "item-" + i);
+            item.put("price", i * 1.5);
+            item.put("available", i % 2 == 0);
+            items.add(item);
+        }
+
+        Map<String, Object> output = new HashMap<>();
+        output.put("node_type", "httpRequest");
+        output.put("status_code", 200);
+        output.put("headers", headers);
+        output.put("items", items);
+        output.put("message", "Node " + index + " completed successfully");
+        return output;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CompactRedisSerializerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,101 @@
+package com.marcella.backend.configurations;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompactRedisSerializerTest {
+
+    private static final byte MAGIC = (byte) 0xFE;
+
+    @Test
+    void writesPlainJsonWithoutHeader() {
+        CompactRedisSerializer serializer = new CompactRedisSerializer(CompactRedisSerializer.Format.JSON, false, 0);
+
+        byte[] bytes = serializer.serialize(sampleValue(1));
+
+        assertThat(bytes[0]).isNotEqualTo(MAGIC);
+        assertThat(serializer.deserialize(bytes)).isEqualTo(sampleValue(1));
+    }
+
+    @Test
+    void framesBinaryFormatsWithHeader() {
+        CompactRedisSerializer serializer = new CompactRedisSerializer(CompactRedisSerializer.Format.SMILE, false, 0);
+
+        byte[] bytes = serializer.serialize(sampleValue(1));
+
+        assertThat(bytes[0]).isEqualTo(MAGIC);
+        assertThat(bytes[1]).isEqualTo((byte) CompactRedisSerializer.Format.SMILE.ordinal());
+        assertThat(bytes[2]).isZero();
+        assertThat(serializer.deserialize(bytes)).isEqualTo(sampleValue(1));
+    }
+
+    @Test
+    void compressesPayloadsAboveThresholdWithLz4Framing() throws Exception {
+        CompactRedisSerializer serializer = new CompactRedisSerializer(CompactRedisSerializer.Format.JSON, true, 64);
+        Map<String, Object> value = sampleValue(200);
+
+        byte[] bytes = serializer.serialize(value);
+        byte[] uncompressed = CompactRedisSerializer.objectMapper(new JsonFactory()).writeValueAsBytes(value);
+
+        assertThat(bytes[0]).isEqualTo(MAGIC);
+        assertThat(bytes[1]).isEqualTo((byte) CompactRedisSerializer.Format.JSON.ordinal());
+        assertThat(bytes[2] & 0x01).isEqualTo(1);
+        assertThat(ByteBuffer.wrap(bytes, 3, 4).getInt()).isEqualTo(uncompressed.length);
+        assertThat(bytes.length).isLessThan(uncompressed.length);
+        assertThat(serializer.deserialize(bytes)).isEqualTo(value);
+    }
+
+    @Test
+    void leavesPayloadsBelowThresholdUncompressed() {
+        CompactRedisSerializer serializer = new CompactRedisSerializer(CompactRedisSerializer.Format.CBOR, true, 4096);
+
+        byte[] bytes = serializer.serialize(sampleValue(1));
+
+        assertThat(bytes[0]).isEqualTo(MAGIC);
+        assertThat(bytes[2] & 0x01).isZero();
+        assertThat(serializer.deserialize(bytes)).isEqualTo(sampleValue(1));
+    }
+
+    @Test
+    void readsLegacyPlainJsonWhateverTheConfiguredFormat() throws Exception {
+        byte[] legacy = CompactRedisSerializer.objectMapper(new JsonFactory()).writeValueAsBytes(sampleValue(3));
+
+        for (CompactRedisSerializer.Format format : CompactRedisSerializer.Format.values()) {
+            CompactRedisSerializer serializer = new CompactRedisSerializer(format, true, 64);
+            assertThat(serializer.deserialize(legacy)).isEqualTo(sampleValue(3));
+        }
+    }
+
+    @Test
+    void rejectsUnknownEncoding() {
+        CompactRedisSerializer serializer = new CompactRedisSerializer(CompactRedisSerializer.Format.JSON, false, 0);
+
+        assertThatThrownBy(() -> serializer.deserialize(new byte[]{MAGIC, 9, 0, 1}))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void handlesNullAndEmpty() {
+        CompactRedisSerializer serializer = new CompactRedisSerializer(CompactRedisSerializer.Format.SMILE, true, 64);
+
+        assertThat(serializer.serialize(null)).isEmpty();
+        assertThat(serializer.deserialize(null)).isNull();
+        assertThat(serializer.deserialize(new byte[0])).isNull();
+    }
+
+    private static Map<String, Object> sampleValue(int repeat) {
+        Map<String, Object> value = new HashMap<>();
+        value.put("status", "COMPLETED");
+        value.put("count", 42);
+        value.put("body", "response-body ".repeat(repeat));
+        return value;
+    }
+}
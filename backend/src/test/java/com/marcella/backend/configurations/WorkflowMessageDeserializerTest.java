@@ -0,0 +1,89 @@
+package com.marcella.backend.configurations;
+
+import com.marcella.backend.workflow.NodeCompletionMessage;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WorkflowMessageDeserializerTest {
+
+    private static final String TOPIC = "node-completion";
+
+    private final WorkflowMessageDeserializer deserializer = new WorkflowMessageDeserializer();
+
+    @BeforeEach
+    void setUp() {
+        deserializer.configure(Map.of(WorkflowMessageDeserializer.VALUE_TYPE, NodeCompletionMessage.class), false);
+    }
+
+    @Test
+    void readsPlainJsonMessages() {
+        WorkflowMessageSerializer serializer = new WorkflowMessageSerializer();
+        serializer.configure(Map.of(), false);
+        NodeCompletionMessage message = sampleMessage();
+
+        byte[] bytes = serializer.serialize(TOPIC, message);
+
+        assertThat(bytes[0]).isEqualTo((byte) '{');
+        assertThat(deserializer.deserialize(TOPIC, bytes)).isEqualTo(message);
+    }
+
+    @Test
+    void readsCborMessagesByHeader() {
+        WorkflowMessageSerializer serializer = new WorkflowMessageSerializer();
+        serializer.configure(Map.of(WorkflowMessageSerializer.BINARY_TOPICS, TOPIC), false);
+        NodeCompletionMessage message = sampleMessage();
+
+        byte[] bytes = serializer.serialize(TOPIC, message);
+
+        assertThat(bytes[0]).isEqualTo(WorkflowMessageSerializer.MAGIC);
+        assertThat(bytes[1]).isEqualTo(WorkflowMessageSerializer.CBOR_V1);
+        assertThat(deserializer.deserialize(TOPIC, bytes)).isEqualTo(message);
+    }
+
+    @Test
+    void resolvesValueTypeFromClassName() {
+        WorkflowMessageDeserializer byName = new WorkflowMessageDeserializer();
+        byName.configure(Map.of(WorkflowMessageDeserializer.VALUE_TYPE, NodeCompletionMessage.class.getName()), false);
+        WorkflowMessageSerializer serializer = new WorkflowMessageSerializer();
+        serializer.configure(Map.of(), false);
+
+        assertThat(byName.deserialize(TOPIC, serializer.serialize(TOPIC, sampleMessage())))
+                .isInstanceOf(NodeCompletionMessage.class);
+    }
+
+    @Test
+    void rejectsUnknownBinaryVersion() {
+        byte[] bytes = {WorkflowMessageSerializer.MAGIC, 9, 0};
+
+        assertThatThrownBy(() -> deserializer.deserialize(TOPIC, bytes))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void returnsNullForEmptyPayloads() {
+        assertThat(deserializer.deserialize(TOPIC, null)).isNull();
+        assertThat(deserializer.deserialize(TOPIC, new byte[0])).isNull();
+    }
+
+    private static NodeCompletionMessage sampleMessage() {
+        return NodeCompletionMessage.builder()
+                .executionId(UUID.randomUUID())
+                .workflowId(UUID.randomUUID())
+                .nodeId("node-1")
+                .nodeType("httpGet")
+                .status("COMPLETED")
+                .output(Map.of("status_code", 200, "body", "ok"))
+                .timestamp(Instant.ofEpochMilli(1_700_000_000_000L))
+                .processingTime(12)
+                .service("spring")
+                .build();
+    }
+}
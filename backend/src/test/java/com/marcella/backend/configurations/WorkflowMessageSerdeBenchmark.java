@@ -0,0 +1,158 @@
+package com.marcella.backend.configurations;
+
+import com.marcella.backend.workflow.NodeCompletionMessage;
+import com.marcella.backend.workflow.NodeExecutionMessage;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorkflowMessageSerdeBenchmark {
+
+    private static final String EXECUTION_TOPIC = "spring-nodes";
+    private static final String COMPLETION_TOPIC = "node-completion";
+
+    @Param({"json", "cbor"})
+    private String encoding;
+
+    private Serializer<Object> serializer;
+    private Deserializer<Object> executionDeserializer;
+    private Deserializer<Object> completionDeserializer;
+    private NodeExecutionMessage execution;
+    private NodeCompletionMessage completion;
+    private byte[] serializedExecution;
+    private byte[] serializedCompletion;
+
+    @Setup
+    public void setUp() {
+        if ("json".equals(encoding)) {
+            JsonSerializer<Object> json = new JsonSerializer<>();
+            json.configure(Map.of(JsonSerializer.ADD_TYPE_INFO_HEADERS, false), false);
+            serializer = json;
+            executionDeserializer = jsonDeserializer(NodeExecutionMessage.class);
+            completionDeserializer = jsonDeserializer(NodeCompletionMessage.class);
+        } else {
+            serializer = new WorkflowMessageSerializer();
+            serializer.configure(Map.of(WorkflowMessageSerializer.BINARY_TOPICS,
+                    List.of(EXECUTION_TOPIC, COMPLETION_TOPIC)), false);
+            executionDeserializer = workflowDeserializer(NodeExecutionMessage.class);
+            completionDeserializer = workflowDeserializer(NodeCompletionMessage.class);
+        }
+
+        execution = representativeExecution();
+        completion = representativeCompletion();
+        serializedExecution = serializer.serialize(EXECUTION_TOPIC, execution);
+        serializedCompletion = serializer.serialize(COMPLETION_TOPIC, completion);
+    }
+
+    @Benchmark
+    public byte[] serializeExecution() {
+        return serializer.serialize(EXECUTION_TOPIC, execution);
+    }
+
+    @Benchmark
+    public Object deserializeExecution() {
+        return executionDeserializer.deserialize(EXECUTION_TOPIC, serializedExecution);
+    }
+
+    @Benchmark
+    public byte[] serializeCompletion() {
+        return serializer.serialize(COMPLETION_TOPIC, completion);
+    }
+
+    @Benchmark
+    public Object deserializeCompletion() {
+        return completionDeserializer.deserialize(COMPLETION_TOPIC, serializedCompletion);
+    }
+
+    private static Deserializer<Object> jsonDeserializer(Class<?> type) {
+        JsonDeserializer<Object> deserializer = new JsonDeserializer<>();
+        deserializer.configure(Map.of(
+                JsonDeserializer.TRUSTED_PACKAGES, "*",
+                JsonDeserializer.USE_TYPE_INFO_HEADERS, false,
+                JsonDeserializer.VALUE_DEFAULT_TYPE, type.getName()), false);
+        return deserializer;
+    }
+
+    private static Deserializer<Object> workflowDeserializer(Class<?> type) {
+        WorkflowMessageDeserializer deserializer = new WorkflowMessageDeserializer();
+        deserializer.configure(Map.of(WorkflowMessageDeserializer.VALUE_TYPE, type.getName()), false);
+        return deserializer;
+    }
+
+    private static NodeExecutionMessage representativeExecution() {
+        Map<String, Object> context = new HashMap<>();
+        for (int i = 0; i < 10; i++) {
+            context.put("node-" + i, representativeOutput(i));
+        }
+
+        Map<String, Object> nodeData = new HashMap<>();
+        nodeData.put("url", "https://api.example.com/orders/{{orderId}}");
+        nodeData.put("method", "GET");
+        nodeData.put("timeout", 30);
+
+        return NodeExecutionMessage.builder()
+                .executionId(UUID.randomUUID())
+                .workflowId(UUID.randomUUID())
+                .workflowVersion(3L)
+                .nodeId("fetch-order")
+                .nodeType("httpGet")
+                .nodeData(nodeData)
+                .context(context)
+                .dependencies(List.of("node-8", "node-9"))
+                .timestamp(Instant.now())
+                .priority(NodeExecutionMessage.Priority.NORMAL)
+                .build();
+    }
+
+    private static NodeCompletionMessage representativeCompletion() {
+        return NodeCompletionMessage.builder()
+                .executionId(UUID.randomUUID())
+                .workflowId(UUID.randomUUID())
+                .nodeId("fetch-order")
+                .nodeType("httpGet")
+                .status("COMPLETED")
+                .output(representativeOutput(0))
+                .timestamp(Instant.now())
+                .processingTime(42)
+                .service("spring")
+                .build();
+    }
+
+    private static Map<String, Object> representativeOutput(int index) {
+        List<Object> items = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("id", i);
+            item.put("name", "item-" + i);
+            item.put("price", i * 1.5);
+            items.add(item);
+        }
+
+        Map<String, Object> output = new HashMap<>();
+        output.put("status_code", 200);
+        output.put("items", items);
+        output.put("message", "Node " + index + " completed successfully");
+        return output;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(WorkflowMessageSerdeBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,94 @@
+package com.marcella.backend.nodeHandlers;
+
+import com.marcella.backend.workflow.NodeExecutionMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NodeExecutionDispatcherTest {
+
+    private static final String LISTENER_ID = "spring-nodes-executor";
+    private static final TopicPartition PARTITION = new TopicPartition("spring-nodes", 0);
+
+    private final KafkaListenerEndpointRegistry listenerRegistry = mock(KafkaListenerEndpointRegistry.class);
+    private final MessageListenerContainer container = mock(MessageListenerContainer.class);
+    private NodeExecutionDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        when(listenerRegistry.getListenerContainer(LISTENER_ID)).thenReturn(container);
+        when(container.isPartitionPauseRequested(PARTITION)).thenReturn(true);
+
+        NodeHandlerRegistry handlerRegistry = new NodeHandlerRegistry(List.of(new SlowNodeHandler()));
+        dispatcher = new NodeExecutionDispatcher(listenerRegistry, handlerRegistry, new SimpleMeterRegistry(),
+                new MockEnvironment());
+        ReflectionTestUtils.setField(dispatcher, "enabled", true);
+        ReflectionTestUtils.setField(dispatcher, "maxInFlightPerPartition", 64);
+        ReflectionTestUtils.setField(dispatcher, "cpuThreads", 1);
+        ReflectionTestUtils.setField(dispatcher, "queueCapacity", 1);
+        ReflectionTestUtils.setField(dispatcher, "highPriorityReserve", 0);
+        dispatcher.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void defersInsteadOfBlockingWhenTheBulkheadIsFull() throws Exception {
+        CountDownLatch gate = new CountDownLatch(1);
+        CountDownLatch ran = new CountDownLatch(3);
+        Runnable task = () -> {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            ran.countDown();
+        };
+
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> {
+            for (int i = 0; i < 3; i++) {
+                dispatcher.submit(LISTENER_ID, PARTITION.topic(), PARTITION.partition(), "slowCall",
+                        NodeExecutionMessage.Priority.NORMAL, task);
+            }
+        });
+        verify(container).pausePartition(PARTITION);
+
+        gate.countDown();
+        assertThat(ran.await(5, TimeUnit.SECONDS)).isTrue();
+        verify(container, timeout(5000)).resumePartition(PARTITION);
+    }
+
+    private static final class SlowNodeHandler implements NodeHandler {
+        @Override
+        public NodeHandlerDescriptor descriptor() {
+            return NodeHandlerDescriptor.io(1, Duration.ofSeconds(30), "slowCall");
+        }
+
+        @Override
+        public Map<String, Object> execute(NodeExecutionMessage message) {
+            return Map.of();
+        }
+    }
+}
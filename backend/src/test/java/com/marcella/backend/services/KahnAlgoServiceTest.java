@@ -0,0 +1,83 @@
+package com.marcella.backend.services;
+
+import com.marcella.backend.workflow.NodeCompletionMessage;
+import com.marcella.backend.workflow.NodeCompletionResult;
+import com.marcella.backend.workflow.SuccessorResolution;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.RedisPipelineException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class KahnAlgoServiceTest {
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+
+    private final KahnAlgoService kahnService = new KahnAlgoService(redisTemplate);
+
+    @Test
+    void keepsSuccessfulRepliesWhenPartOfThePipelineFails() {
+        when(redisTemplate.executePipelined(any(RedisCallback.class), any(RedisSerializer.class)))
+                .thenThrow(new RedisPipelineException(new RuntimeException("pipeline failed"), Arrays.asList(
+                        reply("0", "0", "1", "next"),
+                        new RedisSystemException("ERR state update failed", null))));
+
+        List<NodeCompletionResult> results = kahnService.processNodeCompletions(
+                List.of(completion("a"), completion("b")), message -> SuccessorResolution.allLive(List.of("next")));
+
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0).getReadyNodes()).containsExactly("next");
+        assertThat(results.get(0).isWorkflowComplete()).isFalse();
+        assertThat(results.get(1)).isNull();
+    }
+
+    @Test
+    void reloadsScriptAndRetriesOnlyCompletionsThatHitNoScript() {
+        when(redisTemplate.executePipelined(any(RedisCallback.class), any(RedisSerializer.class)))
+                .thenThrow(new RedisPipelineException(new RuntimeException("pipeline failed"), Arrays.asList(
+                        new RedisSystemException("NOSCRIPT No matching script", null),
+                        reply("1", "0", "0"))))
+                .thenReturn(new ArrayList<>(List.of(reply("0", "1", "0"))));
+
+        List<NodeCompletionResult> results = kahnService.processNodeCompletions(
+                List.of(completion("a"), completion("b")), message -> SuccessorResolution.allLive(List.of()));
+
+        verify(redisTemplate).execute(any(RedisCallback.class));
+        verify(redisTemplate, times(2)).executePipelined(any(RedisCallback.class), any(RedisSerializer.class));
+        assertThat(results.get(0).isDuplicate()).isTrue();
+        assertThat(results.get(1).isWorkflowComplete()).isTrue();
+    }
+
+    private static List<Object> reply(String... values) {
+        List<Object> reply = new ArrayList<>();
+        for (String value : values) {
+            reply.add(value.getBytes(StandardCharsets.UTF_8));
+        }
+        return reply;
+    }
+
+    private static NodeCompletionMessage completion(String nodeId) {
+        return NodeCompletionMessage.builder()
+                .executionId(UUID.randomUUID())
+                .workflowId(UUID.randomUUID())
+                .nodeId(nodeId)
+                .nodeType("transform")
+                .status("COMPLETED")
+                .build();
+    }
+}
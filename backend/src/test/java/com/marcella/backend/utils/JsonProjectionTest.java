@@ -0,0 +1,88 @@
+package com.marcella.backend.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonProjectionTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void parsesJsonPointer() {
+        assertThat(JsonProjection.parse("/data/items/0/name")).containsExactly("data", "items", "0", "name");
+        assertThat(JsonProjection.parse("/a~1b/c~0d")).containsExactly("a/b", "c~d");
+        assertThat(JsonProjection.parse("/")).isEmpty();
+    }
+
+    @Test
+    void parsesJsonPath() {
+        assertThat(JsonProjection.parse("$.data.items[2].name")).containsExactly("data", "items", "2", "name");
+        assertThat(JsonProjection.parse("$['odd.key'].value")).containsExactly("odd.key", "value");
+        assertThat(JsonProjection.parse("$.items[*].id")).isEqualTo(Arrays.asList("items", null, "id"));
+        assertThat(JsonProjection.parse("$.items.*")).isEqualTo(Arrays.asList("items", null));
+        assertThat(JsonProjection.parse("$")).isEmpty();
+    }
+
+    @Test
+    void rejectsUnsupportedExpressions() {
+        assertThatThrownBy(() -> JsonProjection.parse("data.items"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> JsonProjection.parse("$.items[?(@.id)]"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void extractsSingleAndWildcardSelections() throws Exception {
+        String json = """
+                {"meta": {"next": "cursor-2", "count": 3},
+                 "items": [{"id": 1, "tags": ["a"]}, {"id": 2}, {"id": 3}]}
+                """;
+
+        Map<String, String> expressions = new LinkedHashMap<>();
+        expressions.put("next", "/meta/next");
+        expressions.put("ids", "$.items[*].id");
+        expressions.put("second", "$.items[1]");
+        expressions.put("missing", "$.meta.absent");
+        expressions.put("none", "$.absent[*]");
+
+        Map<String, Object> result = JsonProjection.compile(expressions).extract(objectMapper, json);
+
+        assertThat(result).containsEntry("next", "cursor-2");
+        assertThat(result).containsEntry("ids", List.of(1, 2, 3));
+        assertThat(result).containsEntry("second", Map.of("id", 2));
+        assertThat(result).containsEntry("missing", null);
+        assertThat(result).containsEntry("none", List.of());
+    }
+
+    @Test
+    void skipsUnselectedSubtrees() throws Exception {
+        String json = """
+                {"noise": {"deep": [[{"x": [1, 2, {"y": "z"}]}]], "more": {"a": {"b": {"c": 1}}}},
+                 "payload": {"value": 42},
+                 "trailing": [1, 2, 3]}
+                """;
+
+        JsonProjection projection = JsonProjection.compile(Map.of("value", "$.payload.value"));
+
+        assertThat(projection.extract(objectMapper, json)).containsEntry("value", 42);
+        assertThat(projection.extract(objectMapper,
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))).containsEntry("value", 42);
+    }
+
+    @Test
+    void derivesDefaultAlias() {
+        assertThat(JsonProjection.defaultAlias("$.items[*].id")).isEqualTo("id");
+        assertThat(JsonProjection.defaultAlias("/data/items/0")).isEqualTo("items");
+        assertThat(JsonProjection.defaultAlias("$")).isEqualTo("$");
+    }
+}
@@ -0,0 +1,92 @@
+package com.marcella.backend.workflow;
+
+import com.marcella.backend.services.KahnAlgoService;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompiledWorkflowPlanTest {
+
+    private final KahnAlgoService kahnService = new KahnAlgoService(null);
+
+    @Test
+    void matchesBranchHandlesToSuccessorsByTarget() {
+        CompiledWorkflowPlan plan = compile(List.of(
+                edge("check", "onFalse", "false"),
+                edge("check", "onTrue", "true"),
+                edge("check", "always", null)));
+
+        SuccessorResolution whenTrue = plan.resolveSuccessors(completion("COMPLETED", Map.of("branch", "true")));
+        assertThat(whenTrue.getLiveSuccessors()).containsExactlyInAnyOrder("onTrue", "always");
+        assertThat(whenTrue.getDeadSuccessors()).containsExactly("onFalse");
+
+        SuccessorResolution whenFalse = plan.resolveSuccessors(completion("COMPLETED", Map.of("condition_result", false)));
+        assertThat(whenFalse.getLiveSuccessors()).containsExactlyInAnyOrder("onFalse", "always");
+        assertThat(whenFalse.getDeadSuccessors()).containsExactly("onTrue");
+    }
+
+    @Test
+    void keepsTargetLiveWhenReachedFromBothBranches() {
+        CompiledWorkflowPlan plan = compile(List.of(
+                edge("check", "onTrue", "true"),
+                edge("check", "onFalse", "true"),
+                edge("check", "onFalse", "false")));
+
+        SuccessorResolution whenTrue = plan.resolveSuccessors(completion("COMPLETED", Map.of("branch", "true")));
+        assertThat(whenTrue.getLiveSuccessors()).containsOnly("onTrue", "onFalse");
+        assertThat(whenTrue.getDeadSuccessors()).isEmpty();
+    }
+
+    @Test
+    void failsInsteadOfRoutingWhenTheConditionDidNotEvaluate() {
+        CompiledWorkflowPlan plan = compile(List.of(
+                edge("check", "onTrue", "true"),
+                edge("check", "onFalse", "false")));
+
+        assertThatThrownBy(() -> plan.resolveSuccessors(completion("FAILED", Map.of("condition_result", false))))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> plan.resolveSuccessors(completion("COMPLETED", Map.of("branch", "maybe"))))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> plan.resolveSuccessors(completion("COMPLETED", Map.of())))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private CompiledWorkflowPlan compile(List<WorkflowEdge> edges) {
+        WorkflowDefinition definition = WorkflowDefinition.builder()
+                .id(UUID.randomUUID())
+                .name("branches")
+                .nodes(List.of(node("check", "condition"), node("onTrue", "transform"),
+                        node("onFalse", "transform"), node("always", "transform")))
+                .edges(edges)
+                .build();
+        return CompiledWorkflowPlan.compile(definition, 1, kahnService.buildCompactDependencyGraph(definition));
+    }
+
+    private static WorkflowNode node(String id, String type) {
+        return WorkflowNode.builder().id(id).type(type).data(Map.of()).build();
+    }
+
+    private static WorkflowEdge edge(String source, String target, String sourceHandle) {
+        return WorkflowEdge.builder()
+                .id(source + "-" + target + "-" + sourceHandle)
+                .source(source)
+                .target(target)
+                .sourceHandle(sourceHandle)
+                .build();
+    }
+
+    private static NodeCompletionMessage completion(String status, Map<String, Object> output) {
+        return NodeCompletionMessage.builder()
+                .executionId(UUID.randomUUID())
+                .nodeId("check")
+                .nodeType("condition")
+                .status(status)
+                .output(output)
+                .build();
+    }
+}